@@ -0,0 +1,96 @@
+package com.reliaquest.api.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.retry.UpstreamRetryPolicy;
+import com.reliaquest.api.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the service's error path while the mock employee API answers every call with 429-Too Many
+ * Requests and the retry budget is spent, so each lookup goes straight from the throttle to the exception the
+ * controller maps. The upstream is an in-memory exchange function, so the numbers are the cost of building,
+ * propagating and wrapping the failure; logging is switched off to keep the appender out of the measurement.
+ * {@code stackTraceCapture} and {@code stackless} show what a single exception costs with and without a stack.
+ * Run with {@code ./gradlew api:jmh -Pjmh.includes=ErrorPath}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ErrorPathBenchmark {
+
+    private static final String ID = "ae51e4a0-d682-48b8-9451-3c9fad1e04af";
+
+    // A throttle with Retry-After goes through the retry policy, one without is a final rejection.
+    @Param({"", "1"})
+    private String retryAfter;
+
+    private EmployeeServiceImpl service;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    ClientResponse.Builder response = ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS);
+                    if (!retryAfter.isEmpty()) {
+                        response.header("Retry-After", retryAfter);
+                    }
+                    return Mono.just(response.build());
+                })
+                .build();
+        service = new EmployeeServiceImpl(webClient);
+        set("baseUrl", "http://localhost/api/v1/employee");
+        // No retries and no budget: every throttle is given up on at once, as in a sustained 429 storm.
+        set("retryPolicy", new UpstreamRetryPolicy(0, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(1),
+                0, 0, new SimpleMeterRegistry()));
+    }
+
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(EmployeeServiceImpl.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, service, value);
+    }
+
+    @Benchmark
+    public RuntimeException throttledLookup() {
+        try {
+            service.getEmployeeById(ID);
+            throw new IllegalStateException("The throttled upstream answered");
+        } catch (EmployeeServiceException | EmployeeNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public RuntimeException stackTraceCapture() {
+        return new RuntimeException("Error in getting employees");
+    }
+
+    @Benchmark
+    public RuntimeException stackless() {
+        return new EmployeeServiceException("Error in getting employees");
+    }
+}
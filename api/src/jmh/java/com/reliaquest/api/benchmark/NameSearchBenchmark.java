@@ -0,0 +1,78 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Latency distribution of name searches over a large roster; sample mode reports the p99 per query.
+ * The index is built during setup. Run with {@code ./gradlew api:jmh -Pjmh.includes=NameSearch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+
+    private static final String[] FIRST = {"Ariel", "Cordie", "Delbert", "Cory", "Enoch", "Ezequiel", "Phil", "Shizue",
+            "Caroline", "Johna", "Zo\u00eb", "Jos\u00e9", "Ren\u00e9e", "Bj\u00f6rn", "Sharvil", "Louanne"};
+
+    private static final String[] SYLLABLES = {"lar", "kin", "co", "le", "ol", "son", "ri", "ce", "thi", "el", "pfan",
+            "ner", "stil", "bei", "er", "fer", "ry", "yun", "dt", "far", "rell", "na", "der", "gha", "te"};
+
+    @Param({"1000000"})
+    private int employees;
+
+    private final NameSearchIndex index = new NameSearchIndex();
+
+    private RosterSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Employee> roster = IntStream.range(0, employees)
+                .mapToObj(i -> new Employee(new UUID(random.nextLong(), random.nextLong()).toString(),
+                        FIRST[random.nextInt(FIRST.length)] + " " + surname(random), 100, 30, "Developer", "x@company.com"))
+                .toList();
+        snapshot = new RosterSnapshot(1, Instant.now(), roster);
+        index.search(snapshot, "warm", 10, true);
+    }
+
+    private static String surname(Random random) {
+        StringBuilder surname = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+        return surname.toString();
+    }
+
+    @Benchmark
+    public List<Employee> singleLetterPrefix() {
+        return index.search(snapshot, "c", 10, true);
+    }
+
+    @Benchmark
+    public List<Employee> firstAndLastNamePrefix() {
+        return index.search(snapshot, "jose lar", 10, true);
+    }
+
+    @Benchmark
+    public List<Employee> typo() {
+        return index.search(snapshot, "Delbret", 10, true);
+    }
+}
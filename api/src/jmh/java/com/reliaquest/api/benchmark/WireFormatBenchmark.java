@@ -0,0 +1,93 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encode/decode cost of a full-roster response from the mock employee API in each wire format.
+ * Payload sizes are reported beside the timings as the {@code payloadBytes} counter.
+ * Run with {@code ./gradlew api:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    public enum Format {
+        JSON(new ObjectMapper()),
+        SMILE(new SmileMapper()),
+        CBOR(new CBORMapper());
+
+        private final ObjectMapper mapper;
+
+        Format(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+    }
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private Format format;
+
+    @Param({"1000", "100000"})
+    private int employees;
+
+    private Map<String, Object> envelope;
+
+    private byte[] payload;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        // Set, not added up, so it reads as the size of one payload whatever the number of operations.
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        List<Employee> roster = IntStream.range(0, employees)
+                .mapToObj(i -> new Employee(
+                        new UUID(random.nextLong(), random.nextLong()).toString(),
+                        "Employee Name " + i,
+                        30_000 + random.nextInt(470_000),
+                        16 + random.nextInt(55),
+                        "Senior Title " + random.nextInt(500),
+                        "user" + i + "@company.com"))
+                .toList();
+        envelope = Map.of("data", roster, "status", "Successfully processed request.");
+        payload = format.mapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] encode(Payload size) throws Exception {
+        byte[] encoded = format.mapper.writeValueAsBytes(envelope);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public EmployeeResponse decode(Payload size) throws Exception {
+        size.payloadBytes = payload.length;
+        return format.mapper.readValue(payload, EmployeeResponse.class);
+    }
+}
@@ -1,9 +1,12 @@
 package com.reliaquest.api;
 
+import com.reliaquest.api.config.ApiRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ApiRuntimeHints.class)
 public class ApiApplication {
 
     public static void main(String[] args) {
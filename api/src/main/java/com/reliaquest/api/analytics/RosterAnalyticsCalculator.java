@@ -0,0 +1,194 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
+import com.reliaquest.api.model.EmployeeAnalytics.AgeBand;
+import com.reliaquest.api.model.EmployeeAnalytics.HistogramBucket;
+import com.reliaquest.api.model.EmployeeAnalytics.SalaryStats;
+import com.reliaquest.api.model.EmployeeAnalytics.TitleStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Computes salary, title and age aggregations over a roster snapshot in a single pass over the employees.
+ * Large rosters are split across the common fork-join pool; results are memoized per snapshot version.
+ */
+@Slf4j
+@Component
+public class RosterAnalyticsCalculator {
+
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final int HISTOGRAM_BUCKETS = 10;
+    private static final int[] AGE_BAND_LOWER_BOUNDS = {25, 35, 45, 55, 65};
+    private static final String[] AGE_BAND_LABELS = {"<25", "25-34", "35-44", "45-54", "55-64", "65+"};
+
+    // Sorts ahead of every real salary, so missing values end up in a prefix of the sorted array.
+    private static final int MISSING_SALARY = Integer.MIN_VALUE;
+
+    private final AtomicReference<EmployeeAnalytics> memo = new AtomicReference<>();
+
+    public EmployeeAnalytics analyze(RosterSnapshot snapshot) {
+        EmployeeAnalytics cached = memo.get();
+        if (cached != null && cached.getRosterVersion() == snapshot.version()) {
+            return cached;
+        }
+        EmployeeAnalytics computed = compute(snapshot);
+        return memo.accumulateAndGet(computed, (previous, next) ->
+                previous != null && previous.getRosterVersion() > next.getRosterVersion() ? previous : next);
+    }
+
+    private EmployeeAnalytics compute(RosterSnapshot snapshot) {
+        List<Employee> employees = snapshot.employees();
+        int size = employees.size();
+        boolean parallel = size >= PARALLEL_THRESHOLD;
+        log.debug("Computing analytics for roster version {} ({} employees, parallel: {})",
+                snapshot.version(), size, parallel);
+
+        int[] salaries = new int[size];
+        IntStream indexes = IntStream.range(0, size);
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        Accumulator totals = indexes.collect(
+                Accumulator::new,
+                (accumulator, index) -> accumulator.add(employees.get(index), salaries, index),
+                Accumulator::merge);
+
+        if (parallel) {
+            Arrays.parallelSort(salaries);
+        } else {
+            Arrays.sort(salaries);
+        }
+        int firstSalary = size - (int) totals.salaryCount;
+
+        return new EmployeeAnalytics(
+                snapshot.version(),
+                totals.headcount,
+                salaryStats(salaries, firstSalary, totals),
+                salaryHistogram(salaries, firstSalary),
+                titleStats(totals.titles),
+                ageBands(totals.ageBands));
+    }
+
+    private static SalaryStats salaryStats(int[] sorted, int from, Accumulator totals) {
+        if (totals.salaryCount == 0) {
+            return null;
+        }
+        return new SalaryStats(
+                sorted[from],
+                sorted[sorted.length - 1],
+                (double) totals.salarySum / totals.salaryCount,
+                percentile(sorted, from, 0.50),
+                percentile(sorted, from, 0.90),
+                percentile(sorted, from, 0.99));
+    }
+
+    // Nearest-rank percentile over sorted[from..length).
+    private static int percentile(int[] sorted, int from, double percentile) {
+        int count = sorted.length - from;
+        int rank = (int) Math.ceil(percentile * count);
+        return sorted[from + Math.max(0, Math.min(count - 1, rank - 1))];
+    }
+
+    private static List<HistogramBucket> salaryHistogram(int[] sorted, int from) {
+        List<HistogramBucket> buckets = new ArrayList<>(HISTOGRAM_BUCKETS);
+        if (from == sorted.length) {
+            return buckets;
+        }
+        int min = sorted[from];
+        int max = sorted[sorted.length - 1];
+        int width = (int) Math.max(1, ((long) max - min + HISTOGRAM_BUCKETS) / HISTOGRAM_BUCKETS);
+
+        int index = from;
+        for (long lower = min; lower <= max; lower += width) {
+            long upper = Math.min((long) max, lower + width - 1);
+            int start = index;
+            while (index < sorted.length && sorted[index] <= upper) {
+                index++;
+            }
+            buckets.add(new HistogramBucket((int) lower, (int) upper, index - start));
+        }
+        return buckets;
+    }
+
+    private static Map<String, TitleStats> titleStats(Map<String, long[]> titles) {
+        Map<String, TitleStats> stats = new TreeMap<>();
+        titles.forEach((title, totals) -> stats.put(title, new TitleStats(
+                totals[0], totals[1] == 0 ? 0 : (double) totals[2] / totals[1])));
+        return stats;
+    }
+
+    private static List<AgeBand> ageBands(long[] counts) {
+        List<AgeBand> bands = new ArrayList<>(counts.length);
+        for (int band = 0; band < counts.length; band++) {
+            bands.add(new AgeBand(AGE_BAND_LABELS[band], counts[band]));
+        }
+        return bands;
+    }
+
+    private static int ageBand(int age) {
+        int band = 0;
+        while (band < AGE_BAND_LOWER_BOUNDS.length && age >= AGE_BAND_LOWER_BOUNDS[band]) {
+            band++;
+        }
+        return band;
+    }
+
+    /**
+     * Per-thread partial result. Title totals are {headcount, salaried headcount, salary sum}.
+     */
+    private static final class Accumulator {
+        private long headcount;
+        private long salaryCount;
+        private long salarySum;
+        private final long[] ageBands = new long[AGE_BAND_LABELS.length];
+        private final Map<String, long[]> titles = new HashMap<>();
+
+        void add(Employee employee, int[] salaries, int index) {
+            headcount++;
+            Integer salary = employee.getSalary();
+            salaries[index] = salary == null ? MISSING_SALARY : salary;
+            if (salary != null) {
+                salaryCount++;
+                salarySum += salary;
+            }
+            if (employee.getAge() != null) {
+                ageBands[ageBand(employee.getAge())]++;
+            }
+            if (employee.getTitle() != null) {
+                long[] totals = titles.computeIfAbsent(employee.getTitle(), ignored -> new long[3]);
+                totals[0]++;
+                if (salary != null) {
+                    totals[1]++;
+                    totals[2] += salary;
+                }
+            }
+        }
+
+        void merge(Accumulator other) {
+            headcount += other.headcount;
+            salaryCount += other.salaryCount;
+            salarySum += other.salarySum;
+            for (int band = 0; band < ageBands.length; band++) {
+                ageBands[band] += other.ageBands[band];
+            }
+            other.titles.forEach((title, totals) -> titles.merge(title, totals, (mine, theirs) -> {
+                mine[0] += theirs[0];
+                mine[1] += theirs[1];
+                mine[2] += theirs[2];
+                return mine;
+            }));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.reliaquest.api.bulkhead;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds how many requests of one kind run at once and how many may wait to run, without blocking a thread:
+ * a waiting request is a parked subscriber that is handed the permit of a finishing one, in arrival order.
+ * A request is turned away at once when the queue is full or the {@link LoadShedder} sheds its priority, and
+ * after {@code maxWait} when no permit came free.
+ */
+public class Bulkhead {
+
+    public static final String QUEUE_FULL = "queue_full";
+    public static final String SHED = "shed";
+    public static final String TIMED_OUT = "timed_out";
+
+    private final String name;
+
+    private final int permits;
+
+    private final int queueCapacity;
+
+    private final BulkheadPriority priority;
+
+    private final Duration maxWait;
+
+    private final LoadShedder shedder;
+
+    private final BulkheadRejectedException queueFull;
+
+    private final BulkheadRejectedException shed;
+
+    private final BulkheadRejectedException timedOut;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+    private int active;
+
+    public Bulkhead(String name, int permits, int queueCapacity, BulkheadPriority priority, Duration maxWait,
+                    LoadShedder shedder) {
+        this.name = name;
+        this.permits = permits;
+        this.queueCapacity = queueCapacity;
+        this.priority = priority;
+        this.maxWait = maxWait;
+        this.shedder = shedder;
+        this.queueFull = new BulkheadRejectedException(name, QUEUE_FULL);
+        this.shed = new BulkheadRejectedException(name, SHED);
+        this.timedOut = new BulkheadRejectedException(name, TIMED_OUT);
+    }
+
+    /**
+     * A permit to run one request, to be released when it is done; errors with {@link BulkheadRejectedException}
+     * when the request is turned away. Cancelling while waiting gives up the place in the queue.
+     */
+    public Mono<Permit> acquire() {
+        Mono<Permit> permit = Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            BulkheadRejectedException rejected = null;
+            synchronized (this) {
+                if (active < permits) {
+                    active++;
+                    waiter.granted = true;
+                } else if (waiters.size() >= queueCapacity) {
+                    rejected = queueFull;
+                } else if (!shedder.tryEnqueue(priority)) {
+                    rejected = shed;
+                } else {
+                    waiters.add(waiter);
+                }
+            }
+            if (rejected != null) {
+                sink.error(rejected);
+            } else if (waiter.granted) {
+                sink.success(waiter.permit);
+            } else {
+                sink.onCancel(() -> cancel(waiter));
+            }
+        });
+        return permit.timeout(maxWait, Mono.error(timedOut));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BulkheadPriority getPriority() {
+        return priority;
+    }
+
+    public synchronized int active() {
+        return active;
+    }
+
+    public synchronized int queued() {
+        return waiters.size();
+    }
+
+    // A waiter cancelled after it was handed the permit, but before it could use it, gives the permit back.
+    private void cancel(Waiter waiter) {
+        boolean granted;
+        synchronized (this) {
+            granted = waiter.granted;
+            if (!granted && waiters.remove(waiter)) {
+                shedder.dequeued();
+            }
+        }
+        if (granted) {
+            waiter.permit.release();
+        }
+    }
+
+    private void release() {
+        Waiter next;
+        synchronized (this) {
+            next = waiters.poll();
+            if (next == null) {
+                active--;
+                return;
+            }
+            next.granted = true;
+            shedder.dequeued();
+        }
+        next.sink.success(next.permit);
+    }
+
+    private final class Waiter {
+
+        private final MonoSink<Permit> sink;
+
+        private final Permit permit = new Permit();
+
+        // Guarded by the bulkhead.
+        private boolean granted;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit() {
+        }
+
+        // Hands the permit to the next waiter, if any; releasing twice is harmless.
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                Bulkhead.this.release();
+            }
+        }
+    }
+}
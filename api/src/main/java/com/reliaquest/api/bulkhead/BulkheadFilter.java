@@ -0,0 +1,149 @@
+package com.reliaquest.api.bulkhead;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Puts every employee endpoint behind the bulkhead of its kind, so a slow upstream only fills the bulkhead of the
+ * requests waiting on it: creates and deletes retrying a throttled upstream can no longer take every thread of the
+ * bounded elastic pool from the cheap aggregate reads. Turned away requests get 503 with Retry-After at once,
+ * instead of queueing without bound and raising latency for everyone.
+ * <p>
+ * Each bulkhead is configured under employee.bulkhead.&lt;name&gt; (permits, queue, priority); the event stream,
+ * which holds its connection open by design, is not limited.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadFilter implements WebFilter {
+
+    static final String ACTIVE_METRIC = "employee.api.bulkhead.active";
+    static final String QUEUED_METRIC = "employee.api.bulkhead.queued";
+    static final String REJECTED_METRIC = "employee.api.bulkhead.rejected";
+
+    private static final String BASE_PATH = "/api/employees";
+
+    private final Bulkhead aggregates;
+
+    private final Bulkhead lookups;
+
+    private final Bulkhead roster;
+
+    private final Bulkhead export;
+
+    private final Bulkhead writes;
+
+    private final String retryAfter;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper;
+
+    private final GlobalExceptionHandler exceptionHandler;
+
+    public BulkheadFilter(Environment environment, MeterRegistry meterRegistry, ObjectMapper objectMapper,
+                          GlobalExceptionHandler exceptionHandler) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+        this.exceptionHandler = exceptionHandler;
+        LoadShedder shedder = new LoadShedder(environment.getProperty("employee.bulkhead.queue", Integer.class, 200));
+        Duration maxWait = environment.getProperty("employee.bulkhead.max-wait", Duration.class, Duration.ofSeconds(2));
+        this.retryAfter = Long.toString(Math.max(1, environment.getProperty("employee.bulkhead.retry-after",
+                Duration.class, Duration.ofSeconds(1)).toSeconds()));
+        this.aggregates = bulkhead(environment, "aggregates", 8, 64, BulkheadPriority.HIGH, maxWait, shedder);
+        this.lookups = bulkhead(environment, "lookups", 16, 64, BulkheadPriority.NORMAL, maxWait, shedder);
+        this.roster = bulkhead(environment, "roster", 8, 32, BulkheadPriority.NORMAL, maxWait, shedder);
+        this.export = bulkhead(environment, "export", 2, 4, BulkheadPriority.LOW, maxWait, shedder);
+        this.writes = bulkhead(environment, "writes", 8, 32, BulkheadPriority.NORMAL, maxWait, shedder);
+        Gauge.builder(QUEUED_METRIC, shedder, LoadShedder::queued)
+                .description("Requests waiting for a permit across all bulkheads")
+                .tag("bulkhead", "all")
+                .register(meterRegistry);
+        for (Bulkhead bulkhead : List.of(aggregates, lookups, roster, export, writes)) {
+            Gauge.builder(ACTIVE_METRIC, bulkhead, Bulkhead::active)
+                    .description("Requests holding a permit of the bulkhead")
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(meterRegistry);
+            Gauge.builder(QUEUED_METRIC, bulkhead, Bulkhead::queued)
+                    .description("Requests waiting for a permit of the bulkhead")
+                    .tag("bulkhead", bulkhead.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Bulkhead bulkhead = bulkheadFor(exchange.getRequest());
+        if (bulkhead == null) {
+            return chain.filter(exchange);
+        }
+        return bulkhead.acquire()
+                .flatMap(permit -> chain.filter(exchange).doFinally(signal -> permit.release()))
+                .onErrorResume(BulkheadRejectedException.class, e -> reject(exchange, e));
+    }
+
+    private Bulkhead bulkheadFor(ServerHttpRequest request) {
+        String path = request.getPath().pathWithinApplication().value();
+        if (!path.startsWith(BASE_PATH)) {
+            return null;
+        }
+        HttpMethod method = request.getMethod();
+        if (HttpMethod.POST.equals(method) || HttpMethod.DELETE.equals(method)) {
+            return writes;
+        }
+        return switch (path.substring(BASE_PATH.length())) {
+            case "", "/" -> roster;
+            case "/export" -> export;
+            case "/highest-salary", "/top10", "/analytics" -> aggregates;
+            case "/stream" -> null;
+            default -> lookups;
+        };
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, BulkheadRejectedException e) {
+        meterRegistry.counter(REJECTED_METRIC, "bulkhead", e.getBulkhead(), "reason", e.getReason()).increment();
+        log.debug("Rejected {} {}: {}", exchange.getRequest().getMethod(), exchange.getRequest().getPath(), e.getMessage());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(exceptionHandler.handleBulkheadRejected(e));
+        } catch (JsonProcessingException jsonError) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static Bulkhead bulkhead(Environment environment, String name, int permits, int queue,
+                                     BulkheadPriority priority, Duration maxWait, LoadShedder shedder) {
+        String prefix = "employee.bulkhead." + name + ".";
+        return new Bulkhead(name,
+                environment.getProperty(prefix + "permits", Integer.class, permits),
+                environment.getProperty(prefix + "queue", Integer.class, queue),
+                environment.getProperty(prefix + "priority", BulkheadPriority.class, priority),
+                maxWait,
+                shedder);
+    }
+}
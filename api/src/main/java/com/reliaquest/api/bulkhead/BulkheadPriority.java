@@ -0,0 +1,21 @@
+package com.reliaquest.api.bulkhead;
+
+/**
+ * How long a bulkhead keeps queueing requests as the api fills up: a request may wait for a permit only while the
+ * requests waiting across all bulkheads are below its share of {@link LoadShedder}'s capacity.
+ */
+public enum BulkheadPriority {
+    HIGH(1.0),
+    NORMAL(0.75),
+    LOW(0.5);
+
+    private final double share;
+
+    BulkheadPriority(double share) {
+        this.share = share;
+    }
+
+    public double getShare() {
+        return share;
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.bulkhead;
+
+/**
+ * A request turned away by a {@link Bulkhead} before it started; answered with 503 and Retry-After. Stackless, and
+ * allocated once per bulkhead and reason, since rejections come in bursts exactly when the api is overloaded.
+ */
+public class BulkheadRejectedException extends RuntimeException {
+
+    private final String bulkhead;
+
+    private final String reason;
+
+    public BulkheadRejectedException(String bulkhead, String reason) {
+        super("Too many " + bulkhead + " requests (" + reason + "), please try again later", null, false, false);
+        this.bulkhead = bulkhead;
+        this.reason = reason;
+    }
+
+    public String getBulkhead() {
+        return bulkhead;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.bulkhead;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One budget of waiting requests shared by all bulkheads. As it fills, queues of lower priority stop admitting
+ * first (see {@link BulkheadPriority}), so under overload the cheap, important reads keep room to wait while
+ * exports and the like are shed at once.
+ */
+public class LoadShedder {
+
+    private final int capacity;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public LoadShedder(int capacity) {
+        this.capacity = capacity;
+    }
+
+    // Takes a place in the shared budget, if the priority may still have one.
+    boolean tryEnqueue(BulkheadPriority priority) {
+        int limit = (int) (capacity * priority.getShare());
+        while (true) {
+            int current = queued.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (queued.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void dequeued() {
+        queued.decrementAndGet();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+}
@@ -0,0 +1,131 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Stores the roster snapshot in one file on local disk, in the {@link OffHeapRoster} encoding:
+ * <pre>
+ *   header: magic (int) | format (int) | version (long) | fetched at, epoch millis (long) | CRC32 of the rest (long)
+ *   rest:   the roster, see OffHeapRoster.encoded
+ * </pre>
+ * A save writes a temporary file next to it, forces it to disk and moves it over the old one atomically, so a crash
+ * leaves one complete snapshot or the other. A load maps the file read-only and decodes nothing up front: the
+ * restored roster reads employees straight from the page cache. A file that is short, foreign or fails its
+ * checksum is ignored.
+ */
+@Slf4j
+public class DiskRosterStore implements IRosterStore {
+
+    private static final int MAGIC = 0x52535452;
+
+    private static final int FORMAT = 1;
+
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8;
+
+    private static final String FILE_NAME = "roster.snapshot";
+
+    private final Path file;
+
+    public DiskRosterStore(Path directory) {
+        this.file = directory.resolve(FILE_NAME);
+    }
+
+    @Override
+    public Optional<RosterSnapshot> load() {
+        if (!Files.isRegularFile(file)) {
+            log.debug("No roster snapshot at {}", file);
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed, and after a later save replaces the file.
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.remaining() < HEADER_BYTES || mapped.getInt() != MAGIC || mapped.getInt() != FORMAT) {
+                log.warn("Ignoring {}: not a roster snapshot of format {}", file, FORMAT);
+                return Optional.empty();
+            }
+            long version = mapped.getLong();
+            Instant fetchedAt = Instant.ofEpochMilli(mapped.getLong());
+            long checksum = mapped.getLong();
+            CRC32 crc = new CRC32();
+            crc.update(mapped.duplicate());
+            if (crc.getValue() != checksum) {
+                log.warn("Ignoring {}: checksum mismatch", file);
+                return Optional.empty();
+            }
+            OffHeapRoster roster = OffHeapRoster.decode(mapped, RosterMemory.MAPPED);
+            log.info("Loaded roster version {} of {} employees fetched at {} from {}", version, roster.size(),
+                    fetchedAt, file);
+            return Optional.of(new RosterSnapshot(version, fetchedAt, roster));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void save(RosterSnapshot snapshot) {
+        List<Employee> employees = snapshot.employees();
+        OffHeapRoster roster = employees instanceof OffHeapRoster offHeap
+                ? offHeap
+                : OffHeapRoster.encode(employees, RosterMemory.DIRECT);
+        ByteBuffer[] encoded = roster.encoded();
+        CRC32 crc = new CRC32();
+        for (ByteBuffer buffer : encoded) {
+            crc.update(buffer.duplicate());
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(FORMAT)
+                .putLong(snapshot.version())
+                .putLong(snapshot.fetchedAt().toEpochMilli())
+                .putLong(crc.getValue())
+                .flip();
+        ByteBuffer[] buffers = {header, encoded[0], encoded[1]};
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                    while (hasRemaining(buffers)) {
+                        channel.write(buffers);
+                    }
+                    channel.force(true);
+                }
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the roster snapshot to " + file, e);
+        }
+        log.debug("Saved roster version {} of {} employees to {}", snapshot.version(), roster.size(), file);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the latest roster fetched from the mock employee API so that reads and aggregations
+ * do not each cost an upstream call (and a slot of its rate limit).
+ */
+@Slf4j
+@Component
+public class EmployeeRosterCache {
+
+    @Value("${employee.cache.ttl:PT30S}")
+    private Duration ttl = Duration.ofSeconds(30);
+
+    // How old a roster may be and still be served while the upstream fails; zero serves none.
+    @Value("${employee.cache.max-stale:PT0S}")
+    private Duration maxStale = Duration.ZERO;
+
+    @Value("${employee.cache.memory:heap}")
+    private RosterMemory memory = RosterMemory.HEAP;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private final AtomicReference<RosterSnapshot> current = new AtomicReference<>();
+
+    private final List<IRosterCacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(IRosterCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    public Optional<RosterSnapshot> fresh() {
+        RosterSnapshot snapshot = current.get();
+        if (snapshot == null || !snapshot.isFresh(ttl, clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    public Optional<RosterSnapshot> stale() {
+        RosterSnapshot snapshot = current.get();
+        if (snapshot == null || !snapshot.isFresh(maxStale, clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(snapshot);
+    }
+
+    public Optional<RosterSnapshot> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public RosterSnapshot replace(List<Employee> employees) {
+        RosterSnapshot snapshot = new RosterSnapshot(versions.incrementAndGet(), clock.instant(), store(employees));
+        current.set(snapshot);
+        log.debug("Roster cache updated to version {} with {} employees", snapshot.version(), snapshot.size());
+        listeners.forEach(listener -> listener.updated(snapshot));
+        return snapshot;
+    }
+
+    /**
+     * Installs a snapshot kept from an earlier run (see RosterPersistence) with its version and fetch time, so it
+     * expires as it would have; does nothing when a roster is already cached. Later versions continue from it.
+     */
+    public void restore(RosterSnapshot snapshot) {
+        RosterSnapshot restored = memory == RosterMemory.HEAP && snapshot.employees() instanceof OffHeapRoster
+                ? new RosterSnapshot(snapshot.version(), snapshot.fetchedAt(), new ArrayList<>(snapshot.employees()))
+                : snapshot;
+        versions.accumulateAndGet(restored.version(), Math::max);
+        if (current.compareAndSet(null, restored)) {
+            log.debug("Roster cache restored to version {} with {} employees", restored.version(), restored.size());
+            listeners.forEach(listener -> listener.updated(restored));
+        }
+    }
+
+    // Off the heap when so configured; a roster too large for one buffer stays on the heap.
+    private List<Employee> store(List<Employee> employees) {
+        if (memory == RosterMemory.HEAP || employees instanceof OffHeapRoster) {
+            return employees;
+        }
+        try {
+            OffHeapRoster roster = OffHeapRoster.encode(employees, memory);
+            log.debug("Encoded {} employees into {} bytes of {} memory", roster.size(), roster.byteSize(), memory);
+            return roster;
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            log.warn("Keeping the roster on the heap: {}", e.getMessage());
+            return employees;
+        }
+    }
+
+    /**
+     * Applies a change to the cached roster as a new version. The fetch time is kept, so a patched snapshot
+     * still expires with the download it was derived from. Does nothing when no roster is cached.
+     */
+    public void patch(UnaryOperator<List<Employee>> change) {
+        while (true) {
+            RosterSnapshot snapshot = current.get();
+            if (snapshot == null) {
+                return;
+            }
+            RosterSnapshot patched = new RosterSnapshot(
+                    versions.incrementAndGet(), snapshot.fetchedAt(), change.apply(snapshot.employees()));
+            if (current.compareAndSet(snapshot, patched)) {
+                log.debug("Roster cache patched to version {} with {} employees", patched.version(), patched.size());
+                listeners.forEach(listener -> listener.updated(patched));
+                return;
+            }
+        }
+    }
+
+    // Adds the employee (replacing one with the same id) to the cached roster, see patch. Listeners hear of the
+    // creation even when no roster is cached.
+    public void add(Employee employee) {
+        patch(employees -> {
+            if (employees instanceof OffHeapRoster roster) {
+                return roster.with(employee);
+            }
+            List<Employee> patched = new ArrayList<>(employees.size() + 1);
+            for (Employee existing : employees) {
+                if (!Objects.equals(existing.getId(), employee.getId())) {
+                    patched.add(existing);
+                }
+            }
+            patched.add(employee);
+            return patched;
+        });
+        RosterEvent created = RosterEvent.created(employee);
+        listeners.forEach(listener -> listener.changed(created));
+    }
+
+    // Removes the employee with the given id from the cached roster, see patch.
+    public void remove(String id) {
+        patch(employees -> employees instanceof OffHeapRoster roster
+                ? roster.without(id)
+                : employees.stream()
+                        .filter(employee -> !Objects.equals(employee.getId(), id))
+                        .toList());
+        RosterEvent deleted = RosterEvent.deleted(id);
+        listeners.forEach(listener -> listener.changed(deleted));
+    }
+
+    public void invalidate() {
+        if (current.getAndSet(null) != null) {
+            log.debug("Roster cache invalidated");
+        }
+    }
+}
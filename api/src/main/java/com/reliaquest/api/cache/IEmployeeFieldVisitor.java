@@ -0,0 +1,19 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.EmployeeField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Receives one employee from {@link OffHeapRoster#visit} field by field, in {@link EmployeeField} order, as it is
+ * stored: strings are UTF-8 bytes read in place from the roster's buffer, which the visitor must not keep or modify.
+ */
+public interface IEmployeeFieldVisitor {
+
+    void string(EmployeeField field, ByteBuffer utf8, int offset, int length) throws IOException;
+
+    void number(EmployeeField field, int value) throws IOException;
+
+    void nullValue(EmployeeField field) throws IOException;
+}
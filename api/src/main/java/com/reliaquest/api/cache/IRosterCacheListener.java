@@ -0,0 +1,15 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Told about every change to the cached roster, on the thread that made it, so listeners must not block.
+ */
+public interface IRosterCacheListener {
+
+    // A new snapshot is current: a fresh download, or one patched by a create or delete.
+    default void updated(RosterSnapshot snapshot) {
+    }
+
+    // An employee was created or deleted, through this node or a peer (see RosterCoherence).
+    default void changed(RosterEvent event) {
+    }
+}
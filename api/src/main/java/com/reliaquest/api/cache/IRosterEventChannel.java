@@ -0,0 +1,37 @@
+package com.reliaquest.api.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries roster mutations between api nodes. Delivery is best effort; receivers fall back to invalidating
+ * their snapshot when they notice a gap, and the cache TTL bounds staleness either way.
+ */
+public interface IRosterEventChannel extends AutoCloseable {
+
+    void publish(RosterEvent event);
+
+    /**
+     * Registers a listener for events published by other nodes; a node never receives its own events.
+     */
+    void subscribe(Consumer<RosterEvent> listener);
+
+    @Override
+    void close();
+
+    // Single node: nothing to tell anyone.
+    static IRosterEventChannel none() {
+        return new IRosterEventChannel() {
+            @Override
+            public void publish(RosterEvent event) {
+            }
+
+            @Override
+            public void subscribe(Consumer<RosterEvent> listener) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
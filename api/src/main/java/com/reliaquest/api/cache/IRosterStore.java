@@ -0,0 +1,40 @@
+package com.reliaquest.api.cache;
+
+import java.util.Optional;
+
+/**
+ * Keeps the latest roster snapshot somewhere that outlives the process, beneath the in-memory
+ * {@link EmployeeRosterCache}. A restarted node can then serve the roster it had, with its original version and
+ * fetch time, before (or without) reaching the mock employee API.
+ */
+public interface IRosterStore extends AutoCloseable {
+
+    // The stored snapshot; empty when there is none, or it cannot be read.
+    Optional<RosterSnapshot> load();
+
+    /**
+     * Replaces the stored snapshot. Readers see the previous snapshot or this one, never a mix.
+     */
+    void save(RosterSnapshot snapshot);
+
+    @Override
+    void close();
+
+    // Memory only: a restarted node starts empty.
+    static IRosterStore none() {
+        return new IRosterStore() {
+            @Override
+            public Optional<RosterSnapshot> load() {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(RosterSnapshot snapshot) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.reliaquest.api.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts roster events as small JSON datagrams to a UDP multicast group, which needs no broker and works
+ * across replicas on one host or one LAN segment. Each node tags its events with a random node id and drops its
+ * own events when the group loops them back.
+ * <p>
+ * A node's events are numbered and sent under one lock, so they leave in sequence order and a peer only sees a gap
+ * when a datagram was really lost (or reordered by the network), not because two publishers raced.
+ */
+@Slf4j
+public class MulticastRosterEventChannel implements IRosterEventChannel {
+
+    private static final int MAX_DATAGRAM_BYTES = 65_507;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Object publishLock = new Object();
+
+    // Guarded by publishLock.
+    private long sequence;
+
+    private final List<Consumer<RosterEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private final InetSocketAddress group;
+
+    private final MulticastSocket socket;
+
+    private final ObjectMapper objectMapper;
+
+    private final Thread receiver;
+
+    private volatile boolean closed;
+
+    private MulticastRosterEventChannel(InetSocketAddress group, MulticastSocket socket, ObjectMapper objectMapper) {
+        this.group = group;
+        this.socket = socket;
+        this.objectMapper = objectMapper;
+        this.receiver = new Thread(this::receive, "roster-events-receiver");
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    public static MulticastRosterEventChannel join(String address, int port, ObjectMapper objectMapper) throws IOException {
+        InetSocketAddress group = new InetSocketAddress(InetAddress.getByName(address), port);
+        MulticastSocket socket = new MulticastSocket(port);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        socket.setTimeToLive(1);
+        socket.joinGroup(group, null);
+        MulticastRosterEventChannel channel = new MulticastRosterEventChannel(group, socket, objectMapper);
+        log.info("Node {} joined roster event group {}", channel.nodeId, group);
+        return channel;
+    }
+
+    @Override
+    public void publish(RosterEvent event) {
+        try {
+            synchronized (publishLock) {
+                byte[] payload = objectMapper.writeValueAsBytes(event.from(nodeId, ++sequence));
+                socket.send(new DatagramPacket(payload, payload.length, group));
+            }
+        } catch (IOException e) {
+            // Peers notice the sequence gap and invalidate instead.
+            log.warn("Failed to publish roster event {}: {}", event.type(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<RosterEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        socket.close();
+    }
+
+    private void receive() {
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        while (!closed) {
+            DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+            try {
+                socket.receive(packet);
+                RosterEvent event = objectMapper.readValue(packet.getData(), packet.getOffset(), packet.getLength(), RosterEvent.class);
+                if (nodeId.equals(event.nodeId())) {
+                    continue;
+                }
+                listeners.forEach(listener -> listener.accept(event));
+            } catch (SocketException e) {
+                if (!closed) {
+                    log.error("Roster event receiver stopped", e);
+                }
+                return;
+            } catch (Exception e) {
+                log.warn("Ignoring malformed roster event from {}: {}", packet.getSocketAddress(), e.getMessage());
+            }
+        }
+    }
+}
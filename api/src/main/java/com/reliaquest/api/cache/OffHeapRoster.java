@@ -0,0 +1,470 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A roster kept outside the Java heap: employees are encoded into one direct (or memory-mapped) buffer and only
+ * decoded when read, so a cached roster of any size is a handful of objects to the garbage collector. Every read
+ * builds a new, short-lived {@link Employee}, unless it is {@link #visit visited} in place.
+ * <pre>
+ *   arena:  offsets (size + 1 ints) | id index (capacity ints) | records
+ *   record: salary (int, MIN_VALUE = null) | age (int, MIN_VALUE = null)
+ *           | id, name, title, email each as UTF-8 length (int, -1 = null) followed by the bytes
+ * </pre>
+ * The id index is an open-addressing table (linear probing, at most half full) of record number + 1, hashed over
+ * the id's UTF-8 bytes, so a lookup compares bytes in place and decodes only the record it finds.
+ * The roster is immutable; {@link #with} and {@link #without} copy the records into a new arena.
+ */
+public final class OffHeapRoster extends AbstractList<Employee> implements RandomAccess {
+
+    private static final int NULL = -1;
+
+    // Salary and age.
+    private static final int FIXED_BYTES = 4 + 4;
+
+    // Size, slot capacity and record bytes, see encoded.
+    private static final int HEADER_BYTES = 4 + 4 + 4;
+
+    private final int size;
+
+    private final IntBuffer offsets;
+
+    private final IntBuffer slots;
+
+    private final ByteBuffer records;
+
+    private final RosterMemory memory;
+
+    private final ByteBuffer arena;
+
+    private OffHeapRoster(int size, int recordBytes, RosterMemory memory) {
+        this(size, slotCapacity(size), recordBytes, memory);
+    }
+
+    private OffHeapRoster(int size, int capacity, int recordBytes, RosterMemory memory) {
+        this(size, capacity, recordBytes, allocate(arenaBytes(size, capacity, recordBytes), memory), memory);
+    }
+
+    private OffHeapRoster(int size, int capacity, int recordBytes, ByteBuffer arena, RosterMemory memory) {
+        this.size = size;
+        this.memory = memory;
+        this.arena = arena;
+        int slotsAt = 4 * (size + 1);
+        int recordsAt = slotsAt + 4 * capacity;
+        this.offsets = arena.slice(0, slotsAt).asIntBuffer();
+        this.slots = arena.slice(slotsAt, 4 * capacity).asIntBuffer();
+        this.records = arena.slice(recordsAt, recordBytes);
+    }
+
+    public static OffHeapRoster encode(List<Employee> employees, RosterMemory memory) {
+        byte[][] encoded = new byte[4][];
+        long recordBytes = 0;
+        for (Employee employee : employees) {
+            recordBytes += recordBytes(employee);
+        }
+        if (recordBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The roster needs " + recordBytes + " bytes, more than one buffer holds");
+        }
+        OffHeapRoster roster = new OffHeapRoster(employees.size(), (int) recordBytes, memory);
+        int at = 0;
+        for (int i = 0; i < employees.size(); i++) {
+            roster.offsets.put(i, at);
+            at = roster.write(at, employees.get(i), encoded);
+        }
+        roster.offsets.put(employees.size(), at);
+        roster.index();
+        return roster;
+    }
+
+    @Override
+    public Employee get(int index) {
+        Objects.checkIndex(index, size);
+        int at = offsets.get(index);
+        int salary = records.getInt(at);
+        int age = records.getInt(at + 4);
+        at += FIXED_BYTES;
+        String id = readString(at);
+        at = skipString(at);
+        String name = readString(at);
+        at = skipString(at);
+        String title = readString(at);
+        at = skipString(at);
+        String email = readString(at);
+        return new Employee(id, name, salary == Integer.MIN_VALUE ? null : salary, age == Integer.MIN_VALUE ? null : age,
+                title, email);
+    }
+
+    /**
+     * Hands the employee at the index to the visitor without decoding it: no {@link Employee} and no strings are
+     * built, the visitor reads the UTF-8 bytes where they are stored.
+     */
+    public void visit(int index, IEmployeeFieldVisitor visitor) throws IOException {
+        Objects.checkIndex(index, size);
+        int at = offsets.get(index);
+        int salary = records.getInt(at);
+        int age = records.getInt(at + 4);
+        at += FIXED_BYTES;
+        at = visitString(EmployeeField.ID, at, visitor);
+        at = visitString(EmployeeField.NAME, at, visitor);
+        visitNumber(EmployeeField.SALARY, salary, visitor);
+        visitNumber(EmployeeField.AGE, age, visitor);
+        at = visitString(EmployeeField.TITLE, at, visitor);
+        visitString(EmployeeField.EMAIL, at, visitor);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The employee with this id, looked up in the id index; null when there is none.
+     */
+    public Employee find(String id) {
+        int position = positionOf(id);
+        return position < 0 ? null : get(position);
+    }
+
+    /**
+     * A copy with the employee added, replacing the one with the same id.
+     */
+    public OffHeapRoster with(Employee employee) {
+        int replaced = positionOf(employee.getId());
+        byte[][] encoded = new byte[4][];
+        int kept = size - (replaced < 0 ? 0 : 1);
+        OffHeapRoster roster = new OffHeapRoster(kept + 1, recordBytesWithout(replaced) + recordBytes(employee), memory);
+        int at = roster.copyRecordsWithout(this, replaced);
+        roster.offsets.put(kept, at);
+        at = roster.write(at, employee, encoded);
+        roster.offsets.put(kept + 1, at);
+        roster.index();
+        return roster;
+    }
+
+    /**
+     * A copy without the employee with this id, or this roster when there is no such employee.
+     */
+    public OffHeapRoster without(String id) {
+        int removed = positionOf(id);
+        if (removed < 0) {
+            return this;
+        }
+        OffHeapRoster roster = new OffHeapRoster(size - 1, recordBytesWithout(removed), memory);
+        roster.offsets.put(size - 1, roster.copyRecordsWithout(this, removed));
+        roster.index();
+        return roster;
+    }
+
+    /**
+     * A view of the roster in id order (nulls first), decoding only what is read; the order is an int per employee.
+     */
+    public List<Employee> sortedById() {
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        mergeSort(order, new int[size], 0, size);
+        return new SortedView(order);
+    }
+
+    /**
+     * The roster as bytes, for {@link #decode} to read back: a header of the counts (12 bytes) and the arena as is.
+     * Both buffers are read-only views; nothing is copied.
+     */
+    public ByteBuffer[] encoded() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(size).putInt(slots.capacity())
+                .putInt(records.capacity()).flip();
+        return new ByteBuffer[] {header.asReadOnlyBuffer(), arena.asReadOnlyBuffer()};
+    }
+
+    /**
+     * The roster {@link #encoded} at the buffer's position, which is moved past it. The roster is a view of the
+     * buffer (a mapped file, say) rather than a copy; the memory is where {@link #with} and {@link #without}
+     * put theirs.
+     */
+    public static OffHeapRoster decode(ByteBuffer buffer, RosterMemory memory) {
+        if (buffer.remaining() < HEADER_BYTES) {
+            throw new IllegalArgumentException("Not an encoded roster: " + buffer.remaining() + " bytes");
+        }
+        int size = buffer.getInt();
+        int capacity = buffer.getInt();
+        int recordBytes = buffer.getInt();
+        if (size < 0 || recordBytes < 0 || capacity != slotCapacity(size)) {
+            throw new IllegalArgumentException("Not an encoded roster: " + size + " employees, " + capacity
+                    + " slots, " + recordBytes + " record bytes");
+        }
+        int total = arenaBytes(size, capacity, recordBytes);
+        if (buffer.remaining() < total) {
+            throw new IllegalArgumentException("Truncated roster: " + buffer.remaining() + " of " + total + " bytes");
+        }
+        ByteBuffer arena = buffer.slice(buffer.position(), total);
+        buffer.position(buffer.position() + total);
+        return new OffHeapRoster(size, capacity, recordBytes, arena, memory);
+    }
+
+    public long byteSize() {
+        return 4L * offsets.capacity() + 4L * slots.capacity() + records.capacity();
+    }
+
+    private int write(int at, Employee employee, byte[][] encoded) {
+        encoded[0] = bytes(employee.getId());
+        encoded[1] = bytes(employee.getName());
+        encoded[2] = bytes(employee.getTitle());
+        encoded[3] = bytes(employee.getEmail());
+        records.putInt(at, employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+        records.putInt(at + 4, employee.getAge() == null ? Integer.MIN_VALUE : employee.getAge());
+        at += FIXED_BYTES;
+        for (byte[] value : encoded) {
+            if (value == null) {
+                records.putInt(at, NULL);
+                at += 4;
+            } else {
+                records.putInt(at, value.length);
+                records.put(at + 4, value);
+                at += 4 + value.length;
+            }
+        }
+        return at;
+    }
+
+    private int recordBytesWithout(int position) {
+        int total = offsets.get(size);
+        return position < 0 ? total : total - (offsets.get(position + 1) - offsets.get(position));
+    }
+
+    // Bulk-copies the source's records, minus one, into this roster's first slots; returns where they end.
+    private int copyRecordsWithout(OffHeapRoster source, int skipped) {
+        int end = source.offsets.get(source.size);
+        if (skipped < 0) {
+            records.put(0, source.records, 0, end);
+            for (int i = 0; i < source.size; i++) {
+                offsets.put(i, source.offsets.get(i));
+            }
+            return end;
+        }
+        int from = source.offsets.get(skipped);
+        int to = source.offsets.get(skipped + 1);
+        records.put(0, source.records, 0, from);
+        records.put(from, source.records, to, end - to);
+        for (int i = 0; i < skipped; i++) {
+            offsets.put(i, source.offsets.get(i));
+        }
+        for (int i = skipped + 1; i < source.size; i++) {
+            offsets.put(i - 1, source.offsets.get(i) - (to - from));
+        }
+        return end - (to - from);
+    }
+
+    private void index() {
+        int mask = slots.capacity() - 1;
+        for (int i = 0; i < size; i++) {
+            int at = offsets.get(i) + FIXED_BYTES;
+            int length = records.getInt(at);
+            if (length == NULL) {
+                continue;
+            }
+            int slot = hash(records, at + 4, length) & mask;
+            while (slots.get(slot) != 0) {
+                int other = slots.get(slot) - 1;
+                if (idEquals(other, records, at + 4, length)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (slots.get(slot) == 0) {
+                slots.put(slot, i + 1);
+            }
+        }
+    }
+
+    private int positionOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        ByteBuffer key = ByteBuffer.wrap(id.getBytes(StandardCharsets.UTF_8));
+        int mask = slots.capacity() - 1;
+        for (int slot = hash(key, 0, key.capacity()) & mask; slots.get(slot) != 0; slot = (slot + 1) & mask) {
+            int position = slots.get(slot) - 1;
+            if (idEquals(position, key, 0, key.capacity())) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    private boolean idEquals(int position, ByteBuffer key, int from, int length) {
+        int at = offsets.get(position) + FIXED_BYTES;
+        return records.getInt(at) == length && records.slice(at + 4, length).equals(key.slice(from, length));
+    }
+
+    private static int hash(ByteBuffer buffer, int from, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = from; i < from + length; i++) {
+            hash = (hash ^ buffer.get(i)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private String readString(int at) {
+        int length = records.getInt(at);
+        if (length == NULL) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        records.get(at + 4, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private int visitString(EmployeeField field, int at, IEmployeeFieldVisitor visitor) throws IOException {
+        int length = records.getInt(at);
+        if (length == NULL) {
+            visitor.nullValue(field);
+            return at + 4;
+        }
+        visitor.string(field, records, at + 4, length);
+        return at + 4 + length;
+    }
+
+    private static void visitNumber(EmployeeField field, int value, IEmployeeFieldVisitor visitor) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            visitor.nullValue(field);
+        } else {
+            visitor.number(field, value);
+        }
+    }
+
+    private int skipString(int at) {
+        int length = records.getInt(at);
+        return at + 4 + (length == NULL ? 0 : length);
+    }
+
+    // Ids compared as unsigned UTF-8 bytes, which is code point order: String.compareTo's order for any id
+    // without supplementary characters, the mock employee API's UUIDs among them.
+    private int compareIds(int left, int right) {
+        int leftAt = offsets.get(left) + FIXED_BYTES;
+        int rightAt = offsets.get(right) + FIXED_BYTES;
+        int leftLength = records.getInt(leftAt);
+        int rightLength = records.getInt(rightAt);
+        if (leftLength == NULL || rightLength == NULL) {
+            return Boolean.compare(leftLength != NULL, rightLength != NULL);
+        }
+        for (int i = 0; i < Math.min(leftLength, rightLength); i++) {
+            int compared = Integer.compare(Byte.toUnsignedInt(records.get(leftAt + 4 + i)),
+                    Byte.toUnsignedInt(records.get(rightAt + 4 + i)));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(leftLength, rightLength);
+    }
+
+    private void mergeSort(int[] order, int[] scratch, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(order, scratch, from, middle);
+        mergeSort(order, scratch, middle, to);
+        if (compareIds(order[middle - 1], order[middle]) <= 0) {
+            return;
+        }
+        System.arraycopy(order, from, scratch, from, to - from);
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && compareIds(scratch[left], scratch[right]) <= 0) {
+                order[i] = scratch[left++];
+            } else {
+                order[i] = scratch[right++];
+            }
+        }
+    }
+
+    private static int slotCapacity(int size) {
+        return Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+    }
+
+    private static int arenaBytes(int size, int capacity, int recordBytes) {
+        long total = 4L * (size + 1) + 4L * capacity + recordBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A roster of " + size + " employees needs " + total
+                    + " bytes, more than one buffer holds");
+        }
+        return (int) total;
+    }
+
+    private static ByteBuffer allocate(int bytes, RosterMemory memory) {
+        if (memory != RosterMemory.MAPPED) {
+            return ByteBuffer.allocateDirect(bytes);
+        }
+        // The mapping outlives the channel and the file, which is gone from the directory once the channel closes.
+        try {
+            Path file = Files.createTempFile("employee-roster", ".arena");
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE)) {
+                return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map a roster arena of " + bytes + " bytes", e);
+        }
+    }
+
+    // An upper bound: unpaired surrogates are counted as two bytes but encoded as one.
+    private static int recordBytes(Employee employee) {
+        return FIXED_BYTES + 4 * 4 + utf8Length(employee.getId()) + utf8Length(employee.getName())
+                + utf8Length(employee.getTitle()) + utf8Length(employee.getEmail());
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // Three bytes, or four for a surrogate pair (two chars).
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    private final class SortedView extends AbstractList<Employee> implements RandomAccess {
+
+        private final int[] order;
+
+        private SortedView(int[] order) {
+            this.order = order;
+        }
+
+        @Override
+        public Employee get(int index) {
+            return OffHeapRoster.this.get(order[index]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+    }
+}
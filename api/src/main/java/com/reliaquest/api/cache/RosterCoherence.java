@@ -0,0 +1,59 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.search.NameSearchIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Applies mutations made on peer nodes to the local roster snapshot, so a create or delete on one replica is
+ * visible on the others without each of them downloading the roster again. An event that cannot be applied
+ * exactly (a gap in a peer's sequence, or no employee data) invalidates the snapshot instead.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RosterCoherence {
+
+    private final IRosterEventChannel channel;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final NameSearchIndex nameSearch;
+
+    private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribe() {
+        channel.subscribe(this::apply);
+    }
+
+    void apply(RosterEvent event) {
+        Long previous = lastSequences.put(event.nodeId(), event.sequence());
+        if (previous != null && event.sequence() != previous + 1) {
+            log.warn("Missed {} roster events from node {}, invalidating the roster cache",
+                    event.sequence() - previous - 1, event.nodeId());
+            rosterCache.invalidate();
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> {
+                if (event.employee() == null) {
+                    rosterCache.invalidate();
+                    return;
+                }
+                rosterCache.add(event.employee());
+                nameSearch.add(event.employee());
+            }
+            case DELETED -> {
+                rosterCache.remove(event.employeeId());
+                nameSearch.remove(event.employeeId());
+            }
+        }
+        log.debug("Applied {} of employee {} from node {}", event.type(), event.employeeId(), event.nodeId());
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * A roster mutation made through one api node, broadcast so its peers can patch their cached snapshot.
+ * The channel stamps the publishing node and a per-node sequence number, which lets receivers detect lost events.
+ */
+public record RosterEvent(Type type, String employeeId, Employee employee, String nodeId, long sequence) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+
+    public static RosterEvent created(Employee employee) {
+        return new RosterEvent(Type.CREATED, employee.getId(), employee, null, 0);
+    }
+
+    public static RosterEvent deleted(String employeeId) {
+        return new RosterEvent(Type.DELETED, employeeId, null, null, 0);
+    }
+
+    public RosterEvent from(String nodeId, long sequence) {
+        return new RosterEvent(type, employeeId, employee, nodeId, sequence);
+    }
+}
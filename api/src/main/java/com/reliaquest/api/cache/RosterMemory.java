@@ -0,0 +1,12 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Where the cached roster lives, see employee.cache.memory. HEAP keeps the employee objects; DIRECT and MAPPED
+ * encode them into an {@link OffHeapRoster}, in direct memory (bounded by -XX:MaxDirectMemorySize) or in a
+ * memory-mapped temporary file that the page cache can evict.
+ */
+public enum RosterMemory {
+    HEAP,
+    DIRECT,
+    MAPPED
+}
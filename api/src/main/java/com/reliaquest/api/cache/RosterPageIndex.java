@@ -0,0 +1,66 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeePage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves cursor pages out of a cached roster. Employees are ordered by id string, which matches the order the
+ * mock employee API pages in, so cursors stay valid whether a page came from the cache or from upstream.
+ */
+@Component
+public class RosterPageIndex {
+
+    private static final Comparator<Employee> ID_ORDER =
+            Comparator.comparing(Employee::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final AtomicReference<SortedRoster> memo = new AtomicReference<>();
+
+    public EmployeePage page(RosterSnapshot snapshot, String cursor, int limit) {
+        List<Employee> sorted = sortedById(snapshot);
+        int from = cursor == null ? 0 : firstAfter(sorted, cursor);
+        int to = Math.min(sorted.size(), from + limit);
+        String nextCursor = to < sorted.size() && to > from ? sorted.get(to - 1).getId() : null;
+        return new EmployeePage(List.copyOf(sorted.subList(from, to)), nextCursor);
+    }
+
+    private List<Employee> sortedById(RosterSnapshot snapshot) {
+        SortedRoster sorted = memo.get();
+        if (sorted == null || sorted.version() != snapshot.version()) {
+            List<Employee> employees;
+            if (snapshot.employees() instanceof OffHeapRoster roster) {
+                // Sorted as record numbers, so a page decodes only its own employees.
+                employees = roster.sortedById();
+            } else {
+                employees = new ArrayList<>(snapshot.employees());
+                employees.sort(ID_ORDER);
+            }
+            sorted = new SortedRoster(snapshot.version(), employees);
+            memo.set(sorted);
+        }
+        return sorted.employees();
+    }
+
+    private static int firstAfter(List<Employee> sorted, String cursor) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            String id = sorted.get(mid).getId();
+            if (id == null || id.compareTo(cursor) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record SortedRoster(long version, List<Employee> employees) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.api.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Connects the roster cache to its {@link IRosterStore}: the stored snapshot is restored into the cache at startup,
+ * and every later snapshot is saved. Saves run in the background, since cache listeners must not block; snapshots
+ * arriving while one is being written are coalesced into a single save of the newest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RosterPersistence implements IRosterCacheListener {
+
+    private final IRosterStore store;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final AtomicReference<RosterSnapshot> pending = new AtomicReference<>();
+
+    private long savedVersion;
+
+    @PostConstruct
+    void restore() {
+        store.load().ifPresent(snapshot -> {
+            savedVersion = snapshot.version();
+            rosterCache.restore(snapshot);
+        });
+        rosterCache.addListener(this);
+    }
+
+    @Override
+    public void updated(RosterSnapshot snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            Schedulers.boundedElastic().schedule(this::save);
+        }
+    }
+
+    private synchronized void save() {
+        RosterSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null || snapshot.version() <= savedVersion) {
+            return;
+        }
+        try {
+            store.save(snapshot);
+            savedVersion = snapshot.version();
+        } catch (RuntimeException e) {
+            log.warn("Could not save roster version {}: {}", snapshot.version(), e.getMessage());
+        }
+    }
+}
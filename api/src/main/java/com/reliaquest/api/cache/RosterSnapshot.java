@@ -0,0 +1,27 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the upstream roster. The version is bumped every time the cache content changes,
+ * so derived results (analytics, indexes) can be memoized against it. An off-heap roster is already immutable
+ * and is kept as is rather than copied onto the heap.
+ */
+public record RosterSnapshot(long version, Instant fetchedAt, List<Employee> employees) {
+
+    public RosterSnapshot {
+        employees = employees instanceof OffHeapRoster ? employees : List.copyOf(employees);
+    }
+
+    public boolean isFresh(Duration ttl, Instant now) {
+        return fetchedAt.plus(ttl).isAfter(now);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+}
@@ -0,0 +1,143 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.reliaquest.api.model.Employee;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractEncoder;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON for response bodies of {@link Employee} and lists of them, through {@link EmployeeJsonWriter} instead of
+ * Jackson's bean serializer. The generator writes straight into buffers from the response's buffer factory (pooled
+ * Netty buffers on the server), in chunks of at most {@code CHUNK_BYTES}, so a large roster is a few pooled chunks
+ * rather than one byte array copied into one oversized buffer. Everything else is left to the Jackson encoder,
+ * which also still handles streaming media types and server-sent events.
+ */
+public class EmployeeJsonEncoder extends AbstractEncoder<Object> {
+
+    // Netty's pooled allocator keeps buffers up to 32 KB in its per-thread caches.
+    static final int CHUNK_BYTES = 32 * 1024;
+
+    // Roughly one employee as JSON, for sizing the first chunk of short lists.
+    private static final int EMPLOYEE_BYTES = 200;
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeJsonEncoder(JsonFactory jsonFactory) {
+        super(MediaType.APPLICATION_JSON);
+        this.jsonFactory = jsonFactory;
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+        return super.canEncode(elementType, mimeType) && isEmployees(elementType);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        // A Flux of employees becomes one JSON array, as with the Jackson encoder for non-streaming media types.
+        Mono<?> value = inputStream instanceof Mono<?> mono ? mono : Flux.from(inputStream).collectList();
+        return value.flatMapMany(body -> Flux.fromIterable(write(body, bufferFactory)))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    @Override
+    public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                  @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+        List<DataBuffer> chunks = write(value, bufferFactory);
+        return chunks.size() == 1 ? chunks.get(0) : bufferFactory.join(chunks);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<DataBuffer> write(Object value, DataBufferFactory bufferFactory) {
+        int firstChunk = value instanceof Collection<?> collection
+                ? Math.min(CHUNK_BYTES, 2 + collection.size() * EMPLOYEE_BYTES) : EMPLOYEE_BYTES;
+        ChunkedOutput output = new ChunkedOutput(bufferFactory, firstChunk);
+        try (JsonGenerator generator = jsonFactory.createGenerator(output, JsonEncoding.UTF8)) {
+            if (value instanceof Employee employee) {
+                EmployeeJsonWriter.write(generator, employee);
+            } else if (value instanceof List<?> list) {
+                EmployeeJsonWriter.write(generator, (List<Employee>) list);
+            } else {
+                EmployeeJsonWriter.write(generator, new ArrayList<>((Collection<Employee>) value));
+            }
+        } catch (IOException | RuntimeException e) {
+            output.release();
+            throw new EncodingException("Could not write employees as JSON", e);
+        }
+        return output.chunks;
+    }
+
+    private static boolean isEmployees(ResolvableType type) {
+        Class<?> valueClass = type.toClass();
+        if (valueClass == Employee.class) {
+            return true;
+        }
+        return Collection.class.isAssignableFrom(valueClass) && type.asCollection().getGeneric(0).toClass() == Employee.class;
+    }
+
+    // Fills buffers from the factory up to CHUNK_BYTES each; the generator hands it whole runs of its own buffer.
+    private static final class ChunkedOutput extends OutputStream {
+
+        private final DataBufferFactory bufferFactory;
+
+        private final List<DataBuffer> chunks = new ArrayList<>(4);
+
+        private DataBuffer current;
+
+        private ChunkedOutput(DataBufferFactory bufferFactory, int firstChunk) {
+            this.bufferFactory = bufferFactory;
+            this.current = bufferFactory.allocateBuffer(firstChunk);
+            chunks.add(current);
+        }
+
+        @Override
+        public void write(int b) {
+            if (current.writePosition() >= CHUNK_BYTES) {
+                next();
+            }
+            current.write((byte) b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                if (current.writePosition() >= CHUNK_BYTES) {
+                    next();
+                }
+                int written = Math.min(length, CHUNK_BYTES - current.writePosition());
+                current.write(bytes, offset, written);
+                offset += written;
+                length -= written;
+            }
+        }
+
+        private void next() {
+            current = bufferFactory.allocateBuffer(CHUNK_BYTES);
+            chunks.add(current);
+        }
+
+        private void release() {
+            chunks.forEach(DataBufferUtils::release);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.reliaquest.api.cache.IEmployeeFieldVisitor;
+import com.reliaquest.api.cache.OffHeapRoster;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Writes employees as JSON the way Jackson serializes {@link Employee} (same property names, order and nulls),
+ * without going through the bean serializer: field names are encoded once, here, and values go straight to the
+ * generator. Employees of an {@link OffHeapRoster} are not decoded at all; their UTF-8 bytes are copied from the
+ * roster's buffer, so writing a roster allocates nothing per employee. The generator must write bytes (one
+ * created over an OutputStream), which is what passing UTF-8 through unchanged needs; characters beyond the BMP
+ * are then left as UTF-8 where Jackson would escape them as surrogate pairs, the same JSON either way.
+ */
+public final class EmployeeJsonWriter {
+
+    // Indexed by EmployeeField ordinal; keep in line with the @JsonProperty names on Employee.
+    private static final SerializedString[] NAMES = {
+            new SerializedString("id"),
+            new SerializedString("employee_name"),
+            new SerializedString("employee_salary"),
+            new SerializedString("employee_age"),
+            new SerializedString("employee_title"),
+            new SerializedString("employee_email")
+    };
+
+    private EmployeeJsonWriter() {
+    }
+
+    public static void write(JsonGenerator generator, Employee employee) throws IOException {
+        generator.writeStartObject();
+        stringField(generator, EmployeeField.ID, employee.getId());
+        stringField(generator, EmployeeField.NAME, employee.getName());
+        numberField(generator, EmployeeField.SALARY, employee.getSalary());
+        numberField(generator, EmployeeField.AGE, employee.getAge());
+        stringField(generator, EmployeeField.TITLE, employee.getTitle());
+        stringField(generator, EmployeeField.EMAIL, employee.getEmail());
+        generator.writeEndObject();
+    }
+
+    public static void write(JsonGenerator generator, List<Employee> employees) throws IOException {
+        generator.writeStartArray();
+        if (employees instanceof OffHeapRoster roster) {
+            InPlaceFields fields = new InPlaceFields(generator);
+            for (int i = 0; i < roster.size(); i++) {
+                generator.writeStartObject();
+                roster.visit(i, fields);
+                generator.writeEndObject();
+            }
+        } else {
+            for (Employee employee : employees) {
+                if (employee == null) {
+                    generator.writeNull();
+                } else {
+                    write(generator, employee);
+                }
+            }
+        }
+        generator.writeEndArray();
+    }
+
+    private static void stringField(JsonGenerator generator, EmployeeField field, String value) throws IOException {
+        generator.writeFieldName(NAMES[field.ordinal()]);
+        generator.writeString(value);
+    }
+
+    private static void numberField(JsonGenerator generator, EmployeeField field, Integer value) throws IOException {
+        generator.writeFieldName(NAMES[field.ordinal()]);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    // One per roster written; strings pass through a scratch array since the generator takes bytes only as arrays.
+    private static final class InPlaceFields implements IEmployeeFieldVisitor {
+
+        private final JsonGenerator generator;
+
+        private byte[] scratch = new byte[256];
+
+        private InPlaceFields(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void string(EmployeeField field, ByteBuffer utf8, int offset, int length) throws IOException {
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, 2 * scratch.length)];
+            }
+            utf8.get(offset, scratch, 0, length);
+            generator.writeFieldName(NAMES[field.ordinal()]);
+            // Escapes as needed, like writeString, but from UTF-8 without decoding it.
+            generator.writeUTF8String(scratch, 0, length);
+        }
+
+        @Override
+        public void number(EmployeeField field, int value) throws IOException {
+            generator.writeFieldName(NAMES[field.ordinal()]);
+            generator.writeNumber(value);
+        }
+
+        @Override
+        public void nullValue(EmployeeField field) throws IOException {
+            generator.writeFieldName(NAMES[field.ordinal()]);
+            generator.writeNull();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.RosterEvent;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.EmployeeResponseDeserializer;
+import com.reliaquest.api.model.ErrorResponse;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for a native image (see -Pnative in the build). Jackson reaches the Lombok models and the
+ * custom deserializer reflectively, which AOT processing cannot see from the bean definitions alone.
+ */
+public class ApiRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Employee.class,
+                EmployeeInput.class,
+                EmployeePage.class,
+                EmployeeResponse.class,
+                EmployeeAnalytics.class,
+                ErrorResponse.class,
+                RosterEvent.class);
+        hints.reflection().registerType(EmployeeResponseDeserializer.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
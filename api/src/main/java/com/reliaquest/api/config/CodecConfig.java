@@ -0,0 +1,27 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.codec.EmployeeJsonEncoder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Employee responses bypass Jackson's bean serializer, see {@link EmployeeJsonEncoder}. The encoder only takes
+ * employees and lists of them, so it is registered as a typed writer, ahead of the Jackson encoder that writes
+ * everything else. It shares the application ObjectMapper's JsonFactory and with it the generator settings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.json.direct-encoder", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class CodecConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new EmployeeJsonEncoder(objectMapper.getFactory()));
+    }
+}
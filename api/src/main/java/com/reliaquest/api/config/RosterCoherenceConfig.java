@@ -0,0 +1,34 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.IRosterEventChannel;
+import com.reliaquest.api.cache.MulticastRosterEventChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+@Slf4j
+public class RosterCoherenceConfig {
+
+    @Value("${employee.cache.coherence.channel:none}")
+    private String channel;
+
+    @Value("${employee.cache.coherence.group:239.255.42.99}")
+    private String group;
+
+    @Value("${employee.cache.coherence.port:45678}")
+    private int port;
+
+    @Bean(destroyMethod = "close")
+    public IRosterEventChannel rosterEventChannel(ObjectMapper objectMapper) throws IOException {
+        if ("multicast".equalsIgnoreCase(channel)) {
+            return MulticastRosterEventChannel.join(group, port, objectMapper);
+        }
+        log.debug("Roster cache coherence is off ({})", channel);
+        return IRosterEventChannel.none();
+    }
+}
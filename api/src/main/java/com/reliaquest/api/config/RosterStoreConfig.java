@@ -0,0 +1,31 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.DiskRosterStore;
+import com.reliaquest.api.cache.IRosterStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class RosterStoreConfig {
+
+    @Value("${employee.cache.store.type:none}")
+    private String type;
+
+    @Value("${employee.cache.store.directory:${java.io.tmpdir}/employee-api}")
+    private Path directory;
+
+    @Bean(destroyMethod = "close")
+    public IRosterStore rosterStore() {
+        if ("disk".equalsIgnoreCase(type)) {
+            log.info("Roster snapshots are kept in {}", directory);
+            return new DiskRosterStore(directory);
+        }
+        log.debug("Roster snapshots are not persisted ({})", type);
+        return IRosterStore.none();
+    }
+}
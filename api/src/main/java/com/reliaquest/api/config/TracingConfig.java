@@ -0,0 +1,19 @@
+package com.reliaquest.api.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// With the otlp-file profile, sampled spans are written as OTLP JSON, one export request per line, to the file
+// logback-spring.xml names (employee.tracing.file); an OpenTelemetry collector's otlpjsonfile receiver reads it.
+@Configuration
+@Profile("otlp-file")
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
@@ -19,9 +19,15 @@ import reactor.netty.http.client.HttpClient;
 @Slf4j
 public class WebClientConfig {
 
+    public static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Value("${employee.api.base-url}")
     private String baseUrl;
 
+    // Ask the mock employee API for Smile (binary JSON) first; it falls back to JSON if it cannot produce it.
+    @Value("${employee.api.binary-wire-format:true}")
+    private boolean binaryWireFormat;
+
     @Bean("webClient")
     public WebClient webClientFromBuilder(WebClient.Builder webClientBuilder){
 
@@ -30,15 +36,23 @@ public class WebClientConfig {
                 .doOnConnected(connection -> connection.addHandlerLast(new ReadTimeoutHandler(100))
                         .addHandlerLast(new WriteTimeoutHandler(100)));
 
-        return WebClient.builder()
+        // Boot's builder carries the observation registry, so every exchange is timed, traced and sends traceparent.
+        return webClientBuilder.clone()
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .defaultHeader(HttpHeaders.ACCEPT, acceptHeader())
                 .filter(logRequest())
                 .filter(logResponse())
                 .build();
     }
 
+    private String acceptHeader() {
+        if (!binaryWireFormat) {
+            return MediaType.APPLICATION_JSON_VALUE;
+        }
+        return APPLICATION_SMILE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9";
+    }
+
     private ExchangeFilterFunction logRequest() {
         return (clientRequest, next) -> {
             log.info("Request: {} {}", clientRequest.method(), clientRequest.url());
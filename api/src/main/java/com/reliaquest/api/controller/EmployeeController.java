@@ -1,69 +1,155 @@
 package com.reliaquest.api.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reliaquest.api.export.RosterExportFormat;
+import com.reliaquest.api.idempotency.IdempotentRequests;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.stream.RosterChangeStream;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
+// The api runs on Netty; the service blocks on upstream calls, so every handler hands it to the bounded elastic
+// pool and never ties up an event loop thread.
 @RestController
 @RequestMapping("/api/employees")
 @Tag(name = "Employee Management", description = "APIs for managing employees")
 @RequiredArgsConstructor
 public class EmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final IEmployeeService employeeService;
 
+    private final RosterChangeStream rosterChangeStream;
+
+    private final IdempotentRequests idempotentRequests;
+
     @GetMapping
-    @Operation(summary = "Get all employees", description = "Fetch all employees.")
-    public List<Employee> getAllEmployees() throws JsonProcessingException {
-        return employeeService.getAllEmployees();
+    @Operation(summary = "Get all employees", description = "Fetch all employees, or one page of them in id order when limit or cursor is given. "
+            + "The cursor for the next page is returned in the X-Next-Cursor header.")
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees(@RequestParam(required = false) Integer limit,
+                                                                @RequestParam(required = false) String cursor) {
+        return blocking(() -> {
+            if (limit == null && cursor == null) {
+                return ResponseEntity.ok(employeeService.getAllEmployees());
+            }
+            EmployeePage page = employeeService.getEmployeesPage(limit == null ? DEFAULT_PAGE_SIZE : limit, cursor);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getEmployees());
+        });
     }
 
 
     @GetMapping("/search/{name}")
     @Operation(summary = "Search employees by name", description = "Fetch all employees whose name contains or matches the input string.")
-    public List<Employee> getEmployeesByNameSearch(@PathVariable String name) throws JsonProcessingException {
-        return employeeService.getEmployeesByNameSearch(name);
+    public Mono<List<Employee>> getEmployeesByNameSearch(@PathVariable String name) {
+        return blocking(() -> employeeService.getEmployeesByNameSearch(name));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Typeahead name search", description = "Ranked, case- and accent-insensitive search: every word of q matches the start of a word of the name, "
+            + "or when fuzzy is set (the default) a word within one or two typos. Returns at most limit employees, possibly none.")
+    public Mono<List<Employee>> searchEmployees(@RequestParam String q,
+                                                @RequestParam(defaultValue = "10") int limit,
+                                                @RequestParam(defaultValue = "true") boolean fuzzy) {
+        return blocking(() -> employeeService.searchEmployees(q, limit, fuzzy));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get employee by ID", description = "Fetch an employee by their ID.")
-    public Employee getEmployeeById(@PathVariable String id) throws JsonProcessingException {
-        return employeeService.getEmployeeById(id);
+    public Mono<Employee> getEmployeeById(@PathVariable String id) {
+        return blocking(() -> employeeService.getEmployeeById(id));
     }
 
 
     @GetMapping("/highest-salary")
     @Operation(summary = "Get highest salary", description = "Fetch the highest salary among all employees.")
-    public int getHighestSalaryOfEmployees() throws JsonProcessingException {
-        return employeeService.getHighestSalaryOfEmployees();
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return blocking(employeeService::getHighestSalaryOfEmployees);
     }
 
     @GetMapping("/top10")
     @Operation(summary = "Get top 10 highest earning employees", description = "Fetch the top 10 highest earning employees.")
-    public List<Employee> getTop10HighestEarningEmployeeNames() throws JsonProcessingException {
-        return employeeService.getTop10HighestEarningEmployeeNames();
+    public Mono<List<Employee>> getTop10HighestEarningEmployeeNames() {
+        return blocking(employeeService::getTop10HighestEarningEmployeeNames);
+    }
+
+    @GetMapping("/analytics")
+    @Operation(summary = "Get roster analytics", description = "Salary percentiles and histogram, per-title headcount and average salary, and age bands.")
+    public Mono<EmployeeAnalytics> getEmployeeAnalytics() {
+        return blocking(employeeService::getEmployeeAnalytics);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream roster changes", description = "Server-sent events: created (the employee) and deleted (the id) as they happen, "
+            + "and top10 and highest-salary whenever their value changes, starting with the current ones. One roster sync serves all subscribers.")
+    public Flux<ServerSentEvent<Object>> streamRosterChanges() {
+        return rosterChangeStream.events();
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export the roster", description = "Streams the current roster as CSV (format=csv) or as the compact columnar file (format=columnar) "
+            + "that the mock employee API can import.")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportEmployees(@RequestParam(defaultValue = "csv") String format) {
+        RosterExportFormat exportFormat;
+        try {
+            exportFormat = RosterExportFormat.of(format);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        ContentDisposition attachment = ContentDisposition.attachment().filename("employees." + exportFormat.getExtension()).build();
+        return blocking(employeeService::getAllEmployees)
+                .map(employees -> ResponseEntity.ok()
+                        .contentType(exportFormat.getMediaType())
+                        .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                        .body(exportFormat.stream(employees)));
     }
 
     @PostMapping
-    @Operation(summary = "Create employee", description = "Create a new employee.")
-    public ResponseEntity<Employee> createEmployee(@RequestBody EmployeeInput employeeInput) {
-        Employee employee = employeeService.createEmployee(employeeInput);
-        return ResponseEntity.ok(employee);
+    @Operation(summary = "Create employee", description = "Create a new employee. A request repeated with the same Idempotency-Key "
+            + "gets the response of the first instead of creating the employee again.")
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestHeader(name = IdempotentRequests.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                         @RequestBody EmployeeInput employeeInput) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return blocking(() -> ResponseEntity.ok(employeeService.createEmployee(employeeInput)));
+        }
+        return idempotentRequests.execute(idempotencyKey, employeeInput,
+                        () -> blocking(() -> employeeService.createEmployee(employeeInput, idempotencyKey)))
+                .map(ResponseEntity::ok);
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete employee by ID", description = "Delete an employee by their ID.")
-    public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        String response = employeeService.deleteEmployeeById(id);
-        return ResponseEntity.ok(response);
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return blocking(() -> ResponseEntity.ok(employeeService.deleteEmployeeById(id)));
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
     }
 
 }
@@ -0,0 +1,44 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.EmployeeNotFoundException;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.exception.GlobalExceptionHandler;
+import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.shard.ShardRouter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+// Passthrough mode: a full roster read (GET /api/employees without limit or cursor) streams the mock employee
+// API's data array straight through instead of going via the roster cache. Router functions are consulted before
+// the annotated controller, which keeps serving every other request, and sharded setups, where the rosters of the
+// shards have to be merged.
+@Configuration
+@ConditionalOnProperty(name = "employee.api.passthrough", havingValue = "true")
+public class EmployeePassthroughRoutes {
+
+    @Bean
+    public RouterFunction<ServerResponse> employeePassthroughRoute(IEmployeeService employeeService,
+                                                                   ShardRouter shardRouter,
+                                                                   GlobalExceptionHandler exceptionHandler) {
+        return RouterFunctions.route(RequestPredicates.GET("/api/employees")
+                        .and(request -> !shardRouter.isSharded())
+                        .and(request -> request.queryParams().get("limit") == null)
+                        .and(request -> request.queryParams().get("cursor") == null),
+                request -> employeeService.streamAllEmployees()
+                        .flatMap(body -> ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(BodyInserters.fromDataBuffers(body)))
+                        .onErrorResume(EmployeeNotFoundException.class, e -> ServerResponse.status(HttpStatus.NOT_FOUND)
+                                .bodyValue(exceptionHandler.handleEmployeeNotFound(e)))
+                        .onErrorResume(EmployeeServiceException.class, e -> ServerResponse.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .bodyValue(exceptionHandler.handleEmployeeServiceException(e))));
+    }
+}
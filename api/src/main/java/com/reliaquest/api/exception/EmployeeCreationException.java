@@ -2,10 +2,10 @@ package com.reliaquest.api.exception;
 
 public class EmployeeCreationException extends RuntimeException {
     public EmployeeCreationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmployeeCreationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
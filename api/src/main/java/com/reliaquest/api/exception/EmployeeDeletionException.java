@@ -2,10 +2,10 @@ package com.reliaquest.api.exception;
 
 public class EmployeeDeletionException extends RuntimeException {
     public EmployeeDeletionException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmployeeDeletionException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -1,7 +1,10 @@
 package com.reliaquest.api.exception;
 
+// The domain exceptions are stackless and take no suppressed exceptions: they only carry a message to
+// GlobalExceptionHandler, and capturing a stack on every rejected upstream call (a 429 storm) costs far more
+// than the exception itself. Being immutable, one instance can also be thrown again and again.
 public class EmployeeNotFoundException extends RuntimeException {
     public EmployeeNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
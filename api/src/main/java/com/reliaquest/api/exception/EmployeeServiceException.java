@@ -2,10 +2,10 @@ package com.reliaquest.api.exception;
 
 public class EmployeeServiceException extends RuntimeException {
     public EmployeeServiceException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public EmployeeServiceException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -1,6 +1,8 @@
 package com.reliaquest.api.exception;
 
+import com.reliaquest.api.bulkhead.BulkheadRejectedException;
 import com.reliaquest.api.model.ErrorResponse;
+import com.reliaquest.api.retry.UpstreamThrottledException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -35,6 +37,20 @@ public class GlobalExceptionHandler {
         return createErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
     }
 
+    // Raised by the bulkhead filter, which answers it itself since it runs before any handler; see BulkheadFilter.
+    @ExceptionHandler(BulkheadRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleBulkheadRejected(BulkheadRejectedException ex) {
+        return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    // An upstream throttle the retry policy did not wait out.
+    @ExceptionHandler(UpstreamThrottledException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleUpstreamThrottled(UpstreamThrottledException ex) {
+        return createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Employee API is throttling requests, please try again later");
+    }
+
     private ErrorResponse createErrorResponse(HttpStatus status, String message) {
         ErrorResponse response = new ErrorResponse();
         response.setDetails(status.name());
@@ -0,0 +1,36 @@
+package com.reliaquest.api.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+final class ChannelWrites {
+
+    private ChannelWrites() {
+    }
+
+    // One gathered write where the channel supports it (files, sockets), buffer by buffer otherwise.
+    static void writeFully(WritableByteChannel channel, ByteBuffer... buffers) throws IOException {
+        if (channel instanceof GatheringByteChannel gathering) {
+            while (hasRemaining(buffers)) {
+                gathering.write(buffers);
+            }
+            return;
+        }
+        for (ByteBuffer buffer : buffers) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static boolean hasRemaining(ByteBuffer[] buffers) {
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact columnar roster file, read back by the mock employee API's RosterImporter. Rows are cut into groups of
+ * {@link #ROW_GROUP} and every group is stored column by column, each column in one contiguous run, so a reader can
+ * load or skip columns with bulk reads. All numbers are big-endian.
+ * <pre>
+ *   file      magic "EMPC", version (int 1), row groups, end marker (int 0)
+ *   row group row count (int, 1..ROW_GROUP), then the columns in this order:
+ *     id        row count x 16 bytes (most, least significant bits)
+ *     salary    row count x int (Integer.MIN_VALUE = null)
+ *     age       row count x byte (-1 = null)
+ *     name, title, email   row count x int UTF-8 length (-1 = null), then all their bytes back to back
+ * </pre>
+ * A group is written with one gathered write of its column buffers; the buffers are reused for the next group.
+ */
+public class ColumnarRosterWriter implements IRosterWriter {
+
+    public static final int MAGIC = 0x454D5043;
+
+    public static final int VERSION = 1;
+
+    public static final int ROW_GROUP = 4096;
+
+    private static final int NULL_LENGTH = -1;
+
+    private final WritableByteChannel channel;
+
+    private ByteBuffer fileHeader = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+
+    private final ByteBuffer groupHeader = ByteBuffer.allocate(4);
+
+    private final ByteBuffer ids = ByteBuffer.allocateDirect(ROW_GROUP * 16);
+
+    private final ByteBuffer salaries = ByteBuffer.allocateDirect(ROW_GROUP * 4);
+
+    private final ByteBuffer ages = ByteBuffer.allocateDirect(ROW_GROUP);
+
+    private final StringColumn names = new StringColumn();
+
+    private final StringColumn titles = new StringColumn();
+
+    private final StringColumn emails = new StringColumn();
+
+    private int rows;
+
+    public ColumnarRosterWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void write(Employee employee) throws IOException {
+        UUID id = UUID.fromString(employee.getId());
+        ids.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        salaries.putInt(employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+        ages.put(employee.getAge() == null ? (byte) -1 : employee.getAge().byteValue());
+        names.add(employee.getName());
+        titles.add(employee.getTitle());
+        emails.add(employee.getEmail());
+        if (++rows == ROW_GROUP) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows > 0) {
+            flushGroup();
+        }
+        ByteBuffer end = ByteBuffer.allocate(4).putInt(0).flip();
+        ChannelWrites.writeFully(channel, fileHeader == null ? new ByteBuffer[] {end} : new ByteBuffer[] {fileHeader, end});
+        fileHeader = null;
+    }
+
+    private void flushGroup() throws IOException {
+        groupHeader.clear().putInt(rows).flip();
+        ByteBuffer[] group = {
+                fileHeader == null ? ByteBuffer.allocate(0) : fileHeader, groupHeader,
+                ids.flip(), salaries.flip(), ages.flip(),
+                names.lengths.flip(), names.bytes.flip(),
+                titles.lengths.flip(), titles.bytes.flip(),
+                emails.lengths.flip(), emails.bytes.flip()};
+        ChannelWrites.writeFully(channel, group);
+        fileHeader = null;
+        ids.clear();
+        salaries.clear();
+        ages.clear();
+        names.clear();
+        titles.clear();
+        emails.clear();
+        rows = 0;
+    }
+
+    private static final class StringColumn {
+
+        private final ByteBuffer lengths = ByteBuffer.allocateDirect(ROW_GROUP * 4);
+
+        // Grows to the largest group seen and is reused after that.
+        private ByteBuffer bytes = ByteBuffer.allocateDirect(64 * 1024);
+
+        private void add(String value) {
+            if (value == null) {
+                lengths.putInt(NULL_LENGTH);
+                return;
+            }
+            byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+            lengths.putInt(encoded.length);
+            if (encoded.length > bytes.remaining()) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(bytes.capacity() * 2, bytes.position() + encoded.length));
+                bytes.flip();
+                grown.put(bytes);
+                bytes = grown;
+            }
+            bytes.put(encoded);
+        }
+
+        private void clear() {
+            lengths.clear();
+            bytes.clear();
+        }
+    }
+}
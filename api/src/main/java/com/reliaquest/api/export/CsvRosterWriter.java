@@ -0,0 +1,80 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RFC 4180 CSV with a header row: id,name,salary,age,title,email. Null values are empty fields; fields holding a
+ * comma, quote or line break are quoted with inner quotes doubled.
+ */
+public class CsvRosterWriter implements IRosterWriter {
+
+    static final String HEADER = "id,name,salary,age,title,email\r\n";
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    private final StringBuilder row = new StringBuilder(256);
+
+    public CsvRosterWriter(WritableByteChannel channel) {
+        this.channel = channel;
+        buffer.put(HEADER.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void write(Employee employee) throws IOException {
+        row.setLength(0);
+        field(employee.getId()).append(',');
+        field(employee.getName()).append(',');
+        field(employee.getSalary()).append(',');
+        field(employee.getAge()).append(',');
+        field(employee.getTitle()).append(',');
+        field(employee.getEmail()).append("\r\n");
+        byte[] bytes = row.toString().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > buffer.remaining()) {
+            flush();
+        }
+        if (bytes.length > buffer.remaining()) {
+            ChannelWrites.writeFully(channel, ByteBuffer.wrap(bytes));
+            return;
+        }
+        buffer.put(bytes);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flush();
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        ChannelWrites.writeFully(channel, buffer);
+        buffer.clear();
+    }
+
+    private StringBuilder field(Integer value) {
+        return value == null ? row : row.append(value.intValue());
+    }
+
+    private StringBuilder field(String value) {
+        if (value == null) {
+            return row;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            return row.append(value);
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+
+import java.io.IOException;
+
+/**
+ * Writes employees one at a time to a channel through buffers of a fixed size, so exporting a roster takes the
+ * same memory however large the roster is. The channel stays open; it belongs to the caller.
+ */
+public interface IRosterWriter {
+
+    // The id must be a UUID; RosterExportFormat.write leaves out employees whose id is not.
+    void write(Employee employee) throws IOException;
+
+    // Writes whatever is still buffered and the end of the file.
+    void finish() throws IOException;
+}
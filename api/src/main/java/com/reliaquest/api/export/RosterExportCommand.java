@@ -0,0 +1,38 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IEmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes the current roster to a file without starting the web server, e.g. for a nightly HR pull:
+ * {@code ./gradlew api:exportRoster -Pformat=columnar -Pout=/data/roster.empc}. Takes the api's usual settings
+ * (employee.api.base-url and so on) plus export.format (csv or columnar) and export.out.
+ */
+@Slf4j
+public class RosterExportCommand {
+
+    public static void main(String[] args) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            RosterExportFormat format = RosterExportFormat.of(context.getEnvironment().getProperty("export.format", "csv"));
+            Path out = Path.of(context.getEnvironment().getProperty("export.out", "roster." + format.getExtension()));
+            List<Employee> employees = context.getBean(IEmployeeService.class).getAllEmployees();
+            int exported;
+            try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                exported = format.write(employees, channel);
+            }
+            log.info("Exported {} employees as {} to {}", exported, format, out.toAbsolutePath());
+        }
+    }
+}
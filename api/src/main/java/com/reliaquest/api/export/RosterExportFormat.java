@@ -0,0 +1,110 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+@Slf4j
+public enum RosterExportFormat {
+
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv") {
+        @Override
+        public IRosterWriter writer(WritableByteChannel channel) {
+            return new CsvRosterWriter(channel);
+        }
+    },
+    COLUMNAR(MediaType.parseMediaType("application/vnd.reliaquest.employee-columns"), "empc") {
+        @Override
+        public IRosterWriter writer(WritableByteChannel channel) {
+            return new ColumnarRosterWriter(channel);
+        }
+    };
+
+    private static final int CHUNK_BYTES = 64 * 1024;
+
+    private final MediaType mediaType;
+
+    private final String extension;
+
+    RosterExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public abstract IRosterWriter writer(WritableByteChannel channel);
+
+    /**
+     * Writes the employees and returns how many were written. Employees without a valid id are left out (and
+     * counted in a warning): a file is often already being streamed to a client when one turns up, too late to
+     * fail cleanly, and the importer could not read such a row back anyway.
+     */
+    public int write(List<Employee> employees, WritableByteChannel channel) throws IOException {
+        IRosterWriter writer = writer(channel);
+        int skipped = 0;
+        for (Employee employee : employees) {
+            if (hasValidId(employee)) {
+                writer.write(employee);
+            } else {
+                skipped++;
+            }
+        }
+        writer.finish();
+        if (skipped > 0) {
+            log.warn("Left {} of {} employees without a valid id out of the {} export", skipped, employees.size(), this);
+        }
+        return employees.size() - skipped;
+    }
+
+    // The writers rely on this: the columnar file stores ids as 16 bytes, and the importer parses CSV ids the same way.
+    static boolean hasValidId(Employee employee) {
+        if (employee == null || employee.getId() == null) {
+            return false;
+        }
+        try {
+            UUID.fromString(employee.getId());
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // Streams the file as it is written, one chunk at a time and only as fast as the client reads it.
+    public Flux<DataBuffer> stream(List<Employee> employees) {
+        return Flux.from(DataBufferUtils.outputStreamPublisher(out -> {
+            try {
+                write(employees, Channels.newChannel(out));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, DefaultDataBufferFactory.sharedInstance, Schedulers.boundedElastic()::schedule, CHUNK_BYTES));
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static RosterExportFormat of(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format '" + name + "', expected csv or columnar");
+        }
+    }
+}
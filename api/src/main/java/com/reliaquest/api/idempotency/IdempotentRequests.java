@@ -0,0 +1,98 @@
+package com.reliaquest.api.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an Idempotency-Key, so a client retrying one (after a timeout, say)
+ * gets the original response instead of causing the mutation again. A duplicate that arrives while the first is
+ * still running waits for its outcome. Only successes are remembered: after a failure the key can be retried.
+ * <p>
+ * Keys expire after {@code ttl}, and at most {@code maxKeys} are kept, the oldest evicted first. The same key with a
+ * different request body is a client error (422), as it would otherwise silently get another request's response.
+ */
+@Slf4j
+@Component
+public class IdempotentRequests {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    @Value("${employee.idempotency.ttl:PT10M}")
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Value("${employee.idempotency.max-keys:10000}")
+    private int maxKeys = 10_000;
+
+    private final Clock clock;
+
+    // In insertion order, which is also expiry order as every key lives for the same ttl.
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotentRequests() {
+        this(Clock.systemUTC());
+    }
+
+    IdempotentRequests(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * The outcome of the request first seen with this key, or of {@code action} when the key is new (or its
+     * earlier request failed).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(String key, Object request, Supplier<Mono<T>> action) {
+        Entry entry;
+        synchronized (entries) {
+            Instant now = clock.instant();
+            evictExpired(now);
+            entry = entries.get(key);
+            if (entry != null && !Objects.equals(entry.request(), request)) {
+                return Mono.error(new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY + " " + key + " was already used for a different request"));
+            }
+            if (entry == null) {
+                entry = new Entry(request, now.plus(ttl), action.get().cache());
+                entries.put(key, entry);
+                if (entries.size() > maxKeys) {
+                    Iterator<Entry> eldest = entries.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            } else {
+                log.info("Replaying the outcome of request with {} {}", IDEMPOTENCY_KEY, key);
+            }
+        }
+        Entry started = entry;
+        return ((Mono<T>) started.outcome()).doOnError(e -> forget(key, started));
+    }
+
+    private void forget(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<Entry> oldest = entries.values().iterator();
+        while (oldest.hasNext() && !oldest.next().expiresAt().isAfter(now)) {
+            oldest.remove();
+        }
+    }
+
+    private record Entry(Object request, Instant expiresAt, Mono<?> outcome) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeAnalytics {
+
+    private long rosterVersion;
+    private long headcount;
+    private SalaryStats salary;
+    private List<HistogramBucket> salaryHistogram;
+    private Map<String, TitleStats> titles;
+    private List<AgeBand> ageBands;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SalaryStats {
+        private int min;
+        private int max;
+        private double average;
+        private int median;
+        private int p90;
+        private int p99;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HistogramBucket {
+        private int from;
+        private int to;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TitleStats {
+        private long headcount;
+        private double averageSalary;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AgeBand {
+        private String label;
+        private long count;
+    }
+}
@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+/**
+ * The properties of an {@link Employee}, in the order they are declared and serialized.
+ */
+public enum EmployeeField {
+    ID,
+    NAME,
+    SALARY,
+    AGE,
+    TITLE,
+    EMAIL
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+    private List<Employee> employees;
+    private String nextCursor; // Id of the last employee in the page, null on the last page
+}
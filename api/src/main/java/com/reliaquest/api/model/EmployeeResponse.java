@@ -11,4 +11,5 @@ public class EmployeeResponse {
     private Employee data; // For single employee
     private List<Employee> employees; // For list of employees
     private String status;
+    private String nextCursor; // Set when a paged request has more results
 }
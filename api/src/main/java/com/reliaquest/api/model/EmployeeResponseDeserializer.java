@@ -2,10 +2,10 @@ package com.reliaquest.api.model;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.ObjectCodec;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -13,25 +13,29 @@ import java.util.List;
 
 public class EmployeeResponseDeserializer extends JsonDeserializer<EmployeeResponse> {
     //Custom deserializer for handling response for single as well as multiple employees from external api.
+    //Uses the parser's own codec, so it works unchanged for JSON and Smile payloads.
     @Override
     public EmployeeResponse deserialize(JsonParser jp, DeserializationContext context)
             throws IOException, JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode node = jp.getCodec().readTree(jp);
+        ObjectCodec codec = jp.getCodec();
+        JsonNode node = codec.readTree(jp);
 
         EmployeeResponse response = new EmployeeResponse();
         response.setStatus(node.get("status").asText());
+        if (node.hasNonNull("nextCursor")) {
+            response.setNextCursor(node.get("nextCursor").asText());
+        }
 
         JsonNode dataNode = node.get("data");
         if (dataNode.isArray()) {
             List<Employee> employees = new ArrayList<>();
             for (JsonNode employeeNode : dataNode) {
-                Employee employee = mapper.treeToValue(employeeNode, Employee.class);
+                Employee employee = codec.treeToValue(employeeNode, Employee.class);
                 employees.add(employee);
             }
             response.setEmployees(employees);
         } else {
-            Employee employee = mapper.treeToValue(dataNode, Employee.class);
+            Employee employee = codec.treeToValue(dataNode, Employee.class);
             response.setData(employee);
         }
 
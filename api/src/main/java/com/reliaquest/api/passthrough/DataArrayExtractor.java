@@ -0,0 +1,148 @@
+package com.reliaquest.api.passthrough;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Cuts the {@code data} array out of a streamed mock employee API response ({"data": [...], "status": "..."})
+ * without parsing it. The employees inside have the same JSON shape the api answers with, so their bytes are
+ * forwarded as they arrive: a small state machine tracks nesting and strings, and every buffer that overlaps the
+ * array is narrowed to the overlap and passed on as is. Buffers outside the array are released.
+ */
+public final class DataArrayExtractor {
+
+    private static final byte[] DATA_KEY = "data".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] EMPTY_ARRAY = "[]".getBytes(StandardCharsets.US_ASCII);
+
+    private enum State {
+        SEEKING, AWAITING_VALUE, IN_ARRAY, DONE
+    }
+
+    private State state = State.SEEKING;
+
+    private int depth;
+
+    private boolean inString;
+
+    private boolean escaped;
+
+    // Progress of the current top-level string against "data", -1 once it cannot match.
+    private int keyMatch = -1;
+
+    private boolean lastStringWasDataKey;
+
+    private boolean found;
+
+    private DataArrayExtractor() {
+    }
+
+    public static Flux<DataBuffer> extract(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            DataArrayExtractor extractor = new DataArrayExtractor();
+            return body.<DataBuffer>handle((buffer, sink) -> {
+                        if (extractor.narrow(buffer)) {
+                            sink.next(buffer);
+                        } else {
+                            DataBufferUtils.release(buffer);
+                        }
+                    })
+                    .concatWith(Mono.defer(extractor::complete))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    /*
+     * Narrows the buffer to the part that belongs to the data array, returning false when none of it does.
+     */
+    boolean narrow(DataBuffer buffer) {
+        if (state == State.DONE) {
+            return false;
+        }
+        int from = buffer.readPosition();
+        int to = buffer.writePosition();
+        int start = state == State.IN_ARRAY ? from : -1;
+        int end = to;
+        for (int i = from; i < to; i++) {
+            byte b = buffer.getByte(i);
+            if (inString) {
+                inString(b);
+                continue;
+            }
+            switch (b) {
+                case '"' -> {
+                    inString = true;
+                    keyMatch = depth == 1 && state != State.IN_ARRAY ? 0 : -1;
+                }
+                case '{', '[' -> {
+                    if (state == State.AWAITING_VALUE && depth == 1 && b == '[') {
+                        state = State.IN_ARRAY;
+                        found = true;
+                        start = i;
+                    } else if (state == State.AWAITING_VALUE && depth == 1) {
+                        state = State.SEEKING;
+                    }
+                    depth++;
+                }
+                case '}', ']' -> {
+                    depth--;
+                    if (state == State.IN_ARRAY && depth == 1) {
+                        state = State.DONE;
+                        end = i + 1;
+                        i = to;
+                    }
+                }
+                case ':' -> {
+                    if (depth == 1 && state == State.SEEKING && lastStringWasDataKey) {
+                        state = State.AWAITING_VALUE;
+                    }
+                }
+                case ' ', '\t', '\r', '\n' -> {
+                }
+                default -> {
+                    // A scalar (null, a number) where the array was expected: there is nothing to forward.
+                    if (state == State.AWAITING_VALUE && depth == 1) {
+                        state = State.SEEKING;
+                    }
+                }
+            }
+        }
+        if (start < 0) {
+            return false;
+        }
+        buffer.readPosition(start);
+        buffer.writePosition(end);
+        return true;
+    }
+
+    private void inString(byte b) {
+        if (escaped) {
+            escaped = false;
+            keyMatch = -1;
+        } else if (b == '\\') {
+            escaped = true;
+            keyMatch = -1;
+        } else if (b == '"') {
+            inString = false;
+            lastStringWasDataKey = keyMatch == DATA_KEY.length;
+            if (state == State.AWAITING_VALUE && depth == 1) {
+                state = State.SEEKING;
+            }
+        } else if (keyMatch >= 0) {
+            keyMatch = keyMatch < DATA_KEY.length && DATA_KEY[keyMatch] == b ? keyMatch + 1 : -1;
+        }
+    }
+
+    private Mono<DataBuffer> complete() {
+        if (state == State.IN_ARRAY) {
+            return Mono.error(new IllegalStateException("Employee roster ended inside the data array"));
+        }
+        // No data array (null data): answer with an empty roster rather than nothing at all.
+        return found ? Mono.empty() : Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_ARRAY));
+    }
+}
@@ -0,0 +1,240 @@
+package com.reliaquest.api.retry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Retries calls the mock employee API rejected with 429-Too Many Requests.
+ * <p>
+ * When the response says how long to wait (Retry-After) the retry waits exactly that long, and gives up at once if
+ * that is longer than {@code maxRetryAfter}. Otherwise it backs off with decorrelated jitter. All calls share one
+ * retry budget: every success earns {@code budgetRatio} of a retry, up to {@code budgetBurst}, so a struggling
+ * upstream sees at most that fraction of extra traffic instead of a retry storm.
+ */
+@Slf4j
+@Component
+public class UpstreamRetryPolicy {
+
+    static final String RETRIES_METRIC = "employee.api.retries";
+    static final String BUDGET_METRIC = "employee.api.retry.budget";
+    static final String ATTEMPT_OBSERVATION = "employee.upstream.attempt";
+    static final String BACKOFF_OBSERVATION = "employee.upstream.backoff";
+
+    // Budget is kept in thousandths of a retry so it fits in a single atomic long.
+    private static final long MILLI = 1000;
+
+    @Value("${employee.api.retry.max-retries:5}")
+    private int maxRetries = 5;
+
+    @Value("${employee.api.retry.base-delay:PT1S}")
+    private Duration baseDelay = Duration.ofSeconds(1);
+
+    @Value("${employee.api.retry.max-delay:PT20S}")
+    private Duration maxDelay = Duration.ofSeconds(20);
+
+    @Value("${employee.api.retry.max-retry-after:PT20S}")
+    private Duration maxRetryAfter = Duration.ofSeconds(20);
+
+    @Value("${employee.api.retry.budget-ratio:0.2}")
+    private double budgetRatio = 0.2;
+
+    @Value("${employee.api.retry.budget-burst:10}")
+    private int budgetBurst = 10;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    private final Clock clock = Clock.systemUTC();
+
+    // Budget used and not yet earned back; the budget starts full so a cold start can still retry.
+    private final AtomicLong spent = new AtomicLong();
+
+    public UpstreamRetryPolicy() {
+    }
+
+    public UpstreamRetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, Duration maxRetryAfter,
+                               double budgetRatio, int budgetBurst, MeterRegistry meterRegistry) {
+        this.maxRetries = maxRetries;
+        this.baseDelay = baseDelay;
+        this.maxDelay = maxDelay;
+        this.maxRetryAfter = maxRetryAfter;
+        this.budgetRatio = budgetRatio;
+        this.budgetBurst = budgetBurst;
+        this.meterRegistry = meterRegistry;
+        registerBudgetGauge();
+    }
+
+    @PostConstruct
+    void registerBudgetGauge() {
+        Gauge.builder(BUDGET_METRIC, this, policy -> (double) policy.availableBudget() / MILLI)
+                .description("Retries currently available in the shared retry budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the policy to an upstream call. Successes top up the shared budget; when retrying stops the last
+     * failure is handed to {@code onExhausted}.
+     * <p>
+     * Each try is observed as employee.upstream.attempt and each wait before the next as employee.upstream.backoff,
+     * both children of the observation current when this is called; WebClient's exchange becomes a child of its try.
+     */
+    public <T> Mono<T> withRetries(Mono<T> call, Function<Throwable, ? extends Throwable> onExhausted) {
+        Observation parent = observationRegistry.getCurrentObservation();
+        AtomicInteger attempts = new AtomicInteger();
+        return Mono.defer(() -> observed(call, parent, attempts.incrementAndGet()))
+                .doOnSuccess(ignored -> deposit())
+                .retryWhen(retry(onExhausted, parent));
+    }
+
+    private <T> Mono<T> observed(Mono<T> call, Observation parent, int attempt) {
+        Observation observation = Observation.createNotStarted(ATTEMPT_OBSERVATION, observationRegistry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("attempt", Integer.toString(attempt))
+                .start();
+        return call.doOnError(observation::error)
+                .doFinally(signal -> observation.stop())
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+    }
+
+    private Mono<Long> backoff(Duration delay, String reason, Observation parent) {
+        Observation observation = Observation.createNotStarted(BACKOFF_OBSERVATION, observationRegistry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("reason", reason)
+                .start();
+        return Mono.delay(delay).doFinally(signal -> observation.stop());
+    }
+
+    public static boolean isThrottled(HttpStatusCode status) {
+        return status.value() == 429;
+    }
+
+    private Retry retry(Function<Throwable, ? extends Throwable> onExhausted, Observation parent) {
+        return Retry.from(signals -> {
+            // Per subscription: decorrelated jitter grows from the previous delay of the same call.
+            AtomicLong previousDelay = new AtomicLong(baseDelay.toMillis());
+            return signals.concatMap(signal -> {
+                Throwable failure = signal.failure();
+                HttpHeaders throttle = throttleHeaders(failure);
+                if (throttle == null) {
+                    return Mono.error(failure);
+                }
+                long attempt = signal.totalRetries() + 1;
+                if (attempt > maxRetries) {
+                    return giveUp(failure, attempt, "exhausted", onExhausted);
+                }
+                Optional<Duration> retryAfter = retryAfter(throttle);
+                if (retryAfter.isPresent() && retryAfter.get().compareTo(maxRetryAfter) > 0) {
+                    return giveUp(failure, attempt, "retry_after_too_long", onExhausted);
+                }
+                if (!withdraw()) {
+                    return giveUp(failure, attempt, "budget_exhausted", onExhausted);
+                }
+                Duration delay = retryAfter.orElseGet(() -> Duration.ofMillis(nextBackoff(previousDelay)));
+                log.warn("Upstream throttled the request, retry {} of {} in {} ms ({})", attempt, maxRetries,
+                        delay.toMillis(), retryAfter.isPresent() ? "Retry-After" : "backoff");
+                String reason = retryAfter.isPresent() ? "retry_after" : "backoff";
+                count(attempt, reason);
+                return backoff(delay, reason, parent).thenReturn(attempt);
+            });
+        });
+    }
+
+    // The headers of a 429, whether raised by our status handlers or by WebClient itself; null for anything else.
+    private static HttpHeaders throttleHeaders(Throwable failure) {
+        if (failure instanceof UpstreamThrottledException throttled) {
+            return throttled.getHeaders();
+        }
+        if (failure instanceof WebClientResponseException.TooManyRequests throttled) {
+            return throttled.getHeaders();
+        }
+        return null;
+    }
+
+    private <T> Mono<T> giveUp(Throwable failure, long attempt, String outcome,
+                               Function<Throwable, ? extends Throwable> onExhausted) {
+        log.error("Not retrying upstream call ({}), message: {}", outcome, failure.getMessage());
+        count(attempt, outcome);
+        return Mono.error(onExhausted.apply(failure));
+    }
+
+    private long nextBackoff(AtomicLong previousDelay) {
+        long base = Math.max(1, baseDelay.toMillis());
+        long upper = Math.max(base + 1, previousDelay.get() * 3);
+        long delay = Math.min(maxDelay.toMillis(), ThreadLocalRandom.current().nextLong(base, upper));
+        previousDelay.set(delay);
+        return delay;
+    }
+
+    /*
+     * Retry-After is either delta-seconds or an HTTP date; anything unparsable is treated as absent.
+     */
+    Optional<Duration> retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim()))));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration wait = Duration.between(clock.instant(), at.toInstant());
+                return Optional.of(wait.isNegative() ? Duration.ZERO : wait);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    long availableBudget() {
+        return budgetBurst * MILLI - spent.get();
+    }
+
+    private void deposit() {
+        long earned = (long) (budgetRatio * MILLI);
+        spent.getAndUpdate(current -> Math.max(0, current - earned));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = spent.get();
+            if (current + MILLI > budgetBurst * MILLI) {
+                return false;
+            }
+        } while (!spent.compareAndSet(current, current + MILLI));
+        return true;
+    }
+
+    private void count(long attempt, String outcome) {
+        meterRegistry.counter(RETRIES_METRIC, "attempt", Long.toString(attempt), "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.retry;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+/**
+ * A 429-Too Many Requests from the mock employee API, raised instead of the {@code WebClientResponseException}
+ * WebClient would create. It only carries the Retry-After {@link UpstreamRetryPolicy} needs: no stack trace and no
+ * buffered body, so a throttle storm costs an allocation per response rather than a stack walk.
+ */
+public class UpstreamThrottledException extends RuntimeException {
+
+    private final HttpHeaders headers;
+
+    public UpstreamThrottledException(HttpHeaders headers) {
+        super("429 Too Many Requests", null, false, false);
+        this.headers = headers;
+    }
+
+    public static UpstreamThrottledException of(ClientResponse response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().header(HttpHeaders.RETRY_AFTER).forEach(value -> headers.add(HttpHeaders.RETRY_AFTER, value));
+        return new UpstreamThrottledException(headers);
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds names for matching: accents are stripped, case is ignored and anything that is not a letter or a digit
+ * separates tokens, so "Zoe O'Neil-Smith" with a diaeresis on the e indexes as zoe, o, neil and smith.
+ */
+final class NameNormalizer {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private NameNormalizer() {
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        if (isAscii(text)) {
+            return text.toLowerCase(Locale.ROOT);
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static String[] tokens(String text) {
+        return split(normalize(text));
+    }
+
+    // Tokens of an already normalized text.
+    static String[] split(String normalized) {
+        if (normalized.isBlank()) {
+            return NO_TOKENS;
+        }
+        return Arrays.stream(SEPARATORS.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,285 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Typeahead and typo-tolerant name search over the cached roster. Names are folded by {@link NameNormalizer} and
+ * every query token has to match a name token, either as a prefix or, when fuzzy, within a few edits. The search
+ * walks the matches of the most selective query token (the one with the fewest postings under its prefix) and
+ * checks the other tokens per name, so results are ranked by how well that token matches (exact, then shorter
+ * completions, then fewer edits) and alphabetically after that. It stops once it has the requested number.
+ * <p>
+ * The index is built from a downloaded roster and then kept in step with {@link #add} and {@link #remove} as the
+ * cached roster is patched; a new download (or an index that lost track) is indexed from scratch on first use.
+ */
+@Slf4j
+@Component
+public class NameSearchIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Object rebuild = new Object();
+
+    private Index index;
+
+    public List<Employee> search(RosterSnapshot snapshot, String query, int limit, boolean fuzzy) {
+        String[] terms = NameNormalizer.tokens(query);
+        if (terms.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (indexes(snapshot)) {
+                return index.search(terms, limit, fuzzy);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Single-flight: one caller indexes a new roster while searches on the old index carry on.
+        synchronized (rebuild) {
+            lock.readLock().lock();
+            try {
+                if (indexes(snapshot)) {
+                    return index.search(terms, limit, fuzzy);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            Index rebuilt = new Index(snapshot);
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+                log.debug("Indexed {} employee names of roster version {}", rebuilt.live, snapshot.version());
+                return index.search(terms, limit, fuzzy);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.remove(employee.getId());
+                index.append(employee, NameNormalizer.normalize(employee.getName()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            if (index != null) {
+                index.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Patched snapshots keep the download time, so the same download with the same size is this index.
+    private boolean indexes(RosterSnapshot snapshot) {
+        return index != null && index.fetchedAt.equals(snapshot.fetchedAt()) && index.live == snapshot.size();
+    }
+
+    // Edits tolerated for a query token: none for one or two characters, then one, then two from six.
+    static int maxEdits(String term) {
+        return term.length() <= 2 ? 0 : term.length() <= 5 ? 1 : 2;
+    }
+
+    static int distance(String left, String right) {
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= right.length(); j++) {
+                int substitution = previous[j - 1] + (left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[right.length()];
+    }
+
+    private record Near(TokenTrie.Node node, int distance) {
+
+        private static final Comparator<Near> CLOSEST_FIRST =
+                Comparator.comparingInt(Near::distance).thenComparing(near -> near.node().token());
+    }
+
+    private static final class Index {
+
+        private final Instant fetchedAt;
+
+        private final List<Employee> docs = new ArrayList<>();
+
+        private final List<String> sortKeys = new ArrayList<>();
+
+        private final List<String[]> docTokens = new ArrayList<>();
+
+        private final BitSet removed = new BitSet();
+
+        private final Map<String, Integer> docById = new HashMap<>();
+
+        private final TokenTrie trie = new TokenTrie();
+
+        private final IntBinaryOperator nameOrder = (left, right) -> sortKeys.get(left).compareTo(sortKeys.get(right));
+
+        private int live;
+
+        private Index(RosterSnapshot snapshot) {
+            this.fetchedAt = snapshot.fetchedAt();
+            // Appending in name order keeps every posting sorted without moving anything.
+            record Keyed(String key, Employee employee) {
+            }
+            snapshot.employees().stream()
+                    .map(employee -> new Keyed(NameNormalizer.normalize(employee.getName()), employee))
+                    .sorted(Comparator.comparing(Keyed::key))
+                    .forEach(keyed -> append(keyed.employee(), keyed.key()));
+        }
+
+        private void append(Employee employee, String sortKey) {
+            int doc = docs.size();
+            docs.add(employee);
+            sortKeys.add(sortKey);
+            String[] tokens = NameNormalizer.split(sortKey);
+            docTokens.add(tokens);
+            if (employee.getId() != null) {
+                docById.put(employee.getId(), doc);
+            }
+            for (String token : Arrays.stream(tokens).distinct().toArray(String[]::new)) {
+                trie.add(token, doc, nameOrder);
+            }
+            live++;
+        }
+
+        // Postings are cleaned lazily: a removed document is only skipped when searched.
+        private void remove(String id) {
+            Integer doc = id == null ? null : docById.remove(id);
+            if (doc != null) {
+                removed.set(doc);
+                live--;
+            }
+        }
+
+        private List<Employee> search(String[] terms, int limit, boolean fuzzy) {
+            int anchor = 0;
+            int fewest = trie.postings(terms[0]);
+            for (int i = 1; i < terms.length; i++) {
+                int postings = trie.postings(terms[i]);
+                if (postings < fewest) {
+                    anchor = i;
+                    fewest = postings;
+                }
+            }
+            String anchorTerm = terms[anchor];
+            Collector collector = new Collector(terms, anchor, fuzzy, limit);
+            trie.forEachCompletion(anchorTerm, collector::collect);
+            int edits = maxEdits(anchorTerm);
+            if (fuzzy && edits > 0 && !collector.isFull()) {
+                List<Near> near = new ArrayList<>();
+                trie.forEachWithin(anchorTerm, edits, (node, distance) -> {
+                    // Completions of the query were taken above.
+                    if (!node.token().startsWith(anchorTerm)) {
+                        near.add(new Near(node, distance));
+                    }
+                });
+                near.sort(Near.CLOSEST_FIRST);
+                for (Near match : near) {
+                    if (!collector.collect(match.node())) {
+                        break;
+                    }
+                }
+            }
+            return collector.results;
+        }
+
+        private final class Collector {
+
+            private final String[] terms;
+
+            private final int anchor;
+
+            private final boolean fuzzy;
+
+            private final int limit;
+
+            private final List<Employee> results;
+
+            private final Set<Integer> seen = new HashSet<>();
+
+            private Collector(String[] terms, int anchor, boolean fuzzy, int limit) {
+                this.terms = terms;
+                this.anchor = anchor;
+                this.fuzzy = fuzzy;
+                this.limit = limit;
+                this.results = new ArrayList<>(Math.min(limit, 64));
+            }
+
+            // Takes the posting's matching documents in order; false once the results are complete.
+            private boolean collect(TokenTrie.Node node) {
+                for (int i = 0; i < node.size() && !isFull(); i++) {
+                    int doc = node.doc(i);
+                    if (!removed.get(doc) && matchesOtherTerms(docTokens.get(doc)) && seen.add(doc)) {
+                        results.add(docs.get(doc));
+                    }
+                }
+                return !isFull();
+            }
+
+            private boolean isFull() {
+                return results.size() >= limit;
+            }
+
+            private boolean matchesOtherTerms(String[] tokens) {
+                for (int i = 0; i < terms.length; i++) {
+                    if (i != anchor && !matchesAny(terms[i], tokens)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private boolean matchesAny(String term, String[] tokens) {
+                for (String token : tokens) {
+                    if (token.startsWith(term)) {
+                        return true;
+                    }
+                }
+                int edits = maxEdits(term);
+                if (fuzzy && edits > 0) {
+                    for (String token : tokens) {
+                        if (Math.abs(token.length() - term.length()) <= edits && distance(term, token) <= edits) {
+                            return true;
+                        }
+                    }
+                }
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.reliaquest.api.search;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Trie over the distinct name tokens. Every node that ends a token holds the token's posting list: the documents
+ * containing it, kept in the order given by the index's comparator (name order), so a query can take results off
+ * the front of a posting without sorting it. Children are kept in sorted arrays, and every node counts the postings
+ * below it so a query can start from its most selective token.
+ * <p>
+ * Typo-tolerant lookups walk the trie as a Levenshtein automaton: each node extends the edit distance row of its
+ * parent by one character, and a branch is abandoned as soon as every entry of its row exceeds the allowed edits.
+ */
+final class TokenTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    static final class Node {
+
+        private char[] keys = NO_KEYS;
+
+        private Node[] children = NO_CHILDREN;
+
+        private String token;
+
+        private int[] docs;
+
+        private int size;
+
+        private int postings;
+
+        String token() {
+            return token;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int doc(int index) {
+            return docs[index];
+        }
+
+        // Inserts the document at its place in the given order.
+        private void addDoc(int doc, IntBinaryOperator order) {
+            if (docs == null) {
+                docs = new int[2];
+            } else if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            int low = 0;
+            int high = size;
+            if (size > 0 && order.applyAsInt(docs[size - 1], doc) <= 0) {
+                low = size;
+            }
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (order.applyAsInt(docs[mid], doc) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            System.arraycopy(docs, low, docs, low + 1, size - low);
+            docs[low] = doc;
+            size++;
+        }
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrNew(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int at = -index - 1;
+            char[] grownKeys = new char[keys.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, grownKeys, 0, at);
+            System.arraycopy(children, 0, grownChildren, 0, at);
+            System.arraycopy(keys, at, grownKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, grownChildren, at + 1, children.length - at);
+            grownKeys[at] = key;
+            grownChildren[at] = new Node();
+            keys = grownKeys;
+            children = grownChildren;
+            return grownChildren[at];
+        }
+    }
+
+    void add(String token, int doc, IntBinaryOperator order) {
+        Node node = root;
+        node.postings++;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrNew(token.charAt(i));
+            node.postings++;
+        }
+        node.token = token;
+        node.addDoc(doc, order);
+    }
+
+    // Postings of the tokens starting with the prefix; removed documents are still counted.
+    int postings(String prefix) {
+        Node node = find(prefix);
+        return node == null ? 0 : node.postings;
+    }
+
+    Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /*
+     * Visits the tokens starting with the prefix breadth first, i.e. the prefix itself, then shorter completions
+     * before longer ones and alphabetically within a length, until the visitor returns false.
+     */
+    void forEachCompletion(String prefix, Predicate<Node> visitor) {
+        Node start = find(prefix);
+        if (start == null) {
+            return;
+        }
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            if (node.token != null && node.size > 0 && !visitor.test(node)) {
+                return;
+            }
+            queue.addAll(Arrays.asList(node.children));
+        }
+    }
+
+    // Visits the tokens within maxEdits of the query (Levenshtein distance) with their distance, in trie order.
+    void forEachWithin(String query, int maxEdits, ObjIntConsumer<Node> visitor) {
+        int[] row = new int[query.length() + 1];
+        for (int j = 0; j < row.length; j++) {
+            row[j] = j;
+        }
+        for (int i = 0; i < root.keys.length; i++) {
+            within(root.children[i], root.keys[i], query, row, maxEdits, visitor);
+        }
+    }
+
+    private static void within(Node node, char key, String query, int[] previous, int maxEdits, ObjIntConsumer<Node> visitor) {
+        int[] row = new int[previous.length];
+        row[0] = previous[0] + 1;
+        int best = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int substitution = previous[j - 1] + (query.charAt(j - 1) == key ? 0 : 1);
+            row[j] = Math.min(substitution, Math.min(previous[j], row[j - 1]) + 1);
+            best = Math.min(best, row[j]);
+        }
+        int distance = row[row.length - 1];
+        if (node.token != null && node.size > 0 && distance <= maxEdits) {
+            visitor.accept(node, distance);
+        }
+        if (best <= maxEdits) {
+            for (int i = 0; i < node.keys.length; i++) {
+                within(node.children[i], node.keys[i], query, row, maxEdits, visitor);
+            }
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.reliaquest.api.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
+import org.springframework.core.io.buffer.DataBuffer;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -10,10 +13,16 @@ import java.util.List;
 
 public interface IEmployeeService {
     List<Employee> getAllEmployees() throws JsonProcessingException;
+    Mono<Flux<DataBuffer>> streamAllEmployees();
+    EmployeePage getEmployeesPage(int limit, String cursor);
     List<Employee> getEmployeesByNameSearch(String nameFragment) throws JsonProcessingException;
+    List<Employee> searchEmployees(String query, int limit, boolean fuzzy);
     Employee getEmployeeById(String id) throws JsonProcessingException;
     int getHighestSalaryOfEmployees() throws JsonProcessingException;
     List<Employee> getTop10HighestEarningEmployeeNames() throws JsonProcessingException;
+    EmployeeAnalytics getEmployeeAnalytics();
     Employee createEmployee(EmployeeInput employee);
+    // The key is passed on to the mock employee API, so retried posts create the employee only once.
+    Employee createEmployee(EmployeeInput employee, String idempotencyKey);
     String deleteEmployeeById(String id);
 }
@@ -1,35 +1,64 @@
 package com.reliaquest.api.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.analytics.RosterAnalyticsCalculator;
+import com.reliaquest.api.bulkhead.BulkheadRejectedException;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.IRosterEventChannel;
+import com.reliaquest.api.cache.RosterEvent;
+import com.reliaquest.api.cache.RosterPageIndex;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.config.WebClientConfig;
 import com.reliaquest.api.exception.EmployeeCreationException;
 import com.reliaquest.api.exception.EmployeeDeletionException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.idempotency.IdempotentRequests;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.passthrough.DataArrayExtractor;
+import com.reliaquest.api.retry.UpstreamRetryPolicy;
+import com.reliaquest.api.retry.UpstreamThrottledException;
+import com.reliaquest.api.search.NameSearchIndex;
 import com.reliaquest.api.service.IEmployeeService;
+import com.reliaquest.api.shard.KWayMerge;
+import com.reliaquest.api.shard.ShardRouter;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
-import reactor.util.retry.RetryBackoffSpec;
+import reactor.core.publisher.Signal;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -44,60 +73,331 @@ public class EmployeeServiceImpl implements IEmployeeService {
     @Value("${employee.api.base-url}")
     private String baseUrl;
 
+    // 0 fetches the roster in one request; otherwise pages of this size, fetchPartitions id ranges at a time.
+    @Value("${employee.api.page-size:0}")
+    private int pageSize;
+
+    @Value("${employee.api.fetch-partitions:4}")
+    private int fetchPartitions = 4;
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+
+    // Canonical id strings sort like the mock server's id order, see EmployeeIndex on the server.
+    private static final Comparator<Employee> BY_ID = Comparator.comparing(Employee::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<Employee> BY_SALARY_DESC = Comparator.comparing(Employee::getSalary, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    // Failed upstream calls end in one of these; being stackless and immutable they are raised as often as needed.
+    private static final EmployeeServiceException UPSTREAM_ERROR = new EmployeeServiceException("Error in getting employees");
+
+    private static final EmployeeNotFoundException UPSTREAM_REJECTED = new EmployeeNotFoundException("Error in getting employees, please try again after sometime");
+
+    private static final EmployeeCreationException CREATION_FAILED = new EmployeeCreationException("Failed to create employee");
+
+    private static final EmployeeDeletionException DELETION_FAILED = new EmployeeDeletionException("Failed to delete employee");
+
+    @Autowired
+    private EmployeeRosterCache rosterCache = new EmployeeRosterCache();
+
+    @Autowired
+    private RosterPageIndex rosterPageIndex = new RosterPageIndex();
+
+    @Autowired
+    private RosterAnalyticsCalculator analyticsCalculator = new RosterAnalyticsCalculator();
+
+    @Autowired
+    private UpstreamRetryPolicy retryPolicy = new UpstreamRetryPolicy();
+
+    @Autowired
+    private IRosterEventChannel rosterEvents = IRosterEventChannel.none();
+
+    @Autowired
+    private ShardRouter shardRouter = new ShardRouter();
+
+    @Autowired
+    private NameSearchIndex nameSearch = new NameSearchIndex();
+
+    // Spans (when traced) and timers for where a request spends its time besides the upstream exchange itself.
+    @Autowired(required = false)
+    private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
+
+    private static final String CACHE_OBSERVATION = "employee.cache.lookup";
+
+    private static final String INDEX_OBSERVATION = "employee.index.query";
+
+    private static final String PARSE_OBSERVATION = "employee.upstream.parse";
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final ObjectMapper smileMapper = new SmileMapper();
+
     public EmployeeServiceImpl(WebClient webClient) {
         this.webClient = webClient;
     }
 
-    //TODO: Implement caching mechanism
     public List<Employee> getAllEmployees() {
-        log.info("Request to fetch all employees from {}", baseUrl);
+        return getRosterSnapshot().employees();
+    }
+
+    @Override
+    public EmployeePage getEmployeesPage(int limit, String cursor) {
+        log.info("Request to fetch {} employees after cursor {}", limit, cursor);
+        int pageLimit = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        Optional<RosterSnapshot> cached = freshRoster();
+        if (cached.isPresent()) {
+            return observeIndex("page", () -> rosterPageIndex.page(cached.get(), cursor, pageLimit));
+        }
+        try {
+            if (shardRouter.isSharded()) {
+                return fetchShardedPage(cursor, pageLimit);
+            }
+            EmployeeResponse page = fetchPage(baseUrl, cursor, null, pageLimit).as(EmployeeServiceImpl::await);
+            return new EmployeePage(page.getEmployees(), page.getNextCursor());
+        } catch (Exception e) {
+            throw handleException(e, "retrieve employees page");
+        }
+    }
+
+    @Override
+    public EmployeeAnalytics getEmployeeAnalytics() {
+        log.info("Computing employee analytics");
+        try {
+            return analyticsCalculator.analyze(getRosterSnapshot());
+        } catch (Exception e) {
+            throw handleException(e, "compute employee analytics");
+        }
+    }
+
+    private RosterSnapshot getRosterSnapshot() {
+        return freshRoster().orElseGet(() -> {
+            // Single-flight: concurrent misses wait for one upstream fetch instead of each issuing their own.
+            synchronized (rosterCache) {
+                return rosterCache.fresh().orElseGet(this::refreshRoster);
+            }
+        });
+    }
+
+    // While the upstream fails, a roster within employee.cache.max-stale (perhaps restored from disk) is served.
+    private RosterSnapshot refreshRoster() {
         try {
-            String response = fetchApiData(baseUrl);
-            EmployeeResponse employeeResponse = parseResponse(response, EmployeeResponse.class);
+            return rosterCache.replace(fetchAllEmployees());
+        } catch (RuntimeException e) {
+            return staleRoster().orElseThrow(() -> e);
+        }
+    }
+
+    private Optional<RosterSnapshot> staleRoster() {
+        Optional<RosterSnapshot> stale = rosterCache.stale();
+        stale.ifPresent(snapshot -> log.warn("Serving roster version {} fetched at {} while the employee API fails",
+                snapshot.version(), snapshot.fetchedAt()));
+        return stale;
+    }
+
+    /*
+     * Every shard pages from the same cursor; merging their id-ordered pages and cutting at the limit gives the
+     * same page a single server would, and its last id is the cursor for the next one.
+     */
+    private EmployeePage fetchShardedPage(String cursor, int limit) {
+        List<EmployeeResponse> pages = Flux.fromIterable(shardRouter.urls())
+                .flatMapSequential(url -> fetchPage(url, cursor, null, limit))
+                .collectList()
+                .as(EmployeeServiceImpl::await);
+        List<List<Employee>> parts = pages.stream().map(EmployeeServiceImpl::employeesOf).toList();
+        List<Employee> employees = KWayMerge.merge(parts, BY_ID, limit);
+        boolean more = pages.stream().anyMatch(page -> page.getNextCursor() != null)
+                || parts.stream().mapToInt(List::size).sum() > employees.size();
+        String nextCursor = more && !employees.isEmpty() ? employees.get(employees.size() - 1).getId() : null;
+        return new EmployeePage(employees, nextCursor);
+    }
+
+    private List<Employee> fetchAllEmployees() {
+        log.info("Request to fetch all employees from {}", upstreams());
+        if (pageSize > 0) {
+            return fetchAllEmployeesPaged();
+        }
+        if (shardRouter.isSharded()) {
+            return fetchAllEmployeesFromShards();
+        }
+        try {
+            EmployeeResponse employeeResponse = fetchApiData(baseUrl);
             log.info("Successfully fetched employees. Total count: {}", employeeResponse.getEmployees().size());
             return employeeResponse.getEmployees();
-        } catch (WebClientResponseException.TooManyRequests e) {
-            log.warn("Received 429 Too Many Requests. Retrying...");
-            throw e;
         } catch (Exception e) {
             throw handleException(e, "retrieve all employees");
         }
     }
 
+    /*
+     * Forwards the upstream data array byte for byte; nothing is decoded, cached or re-encoded. The outer Mono
+     * completes once the upstream has answered (after any retries), so errors still surface before the response
+     * to our client is committed.
+     */
+    @Override
+    public Mono<Flux<DataBuffer>> streamAllEmployees() {
+        URI uri = toUri(baseUrl);
+        log.info("Streaming all employees from url: {}", uri);
+        Mono<ResponseEntity<Flux<DataBuffer>>> call = retrieve(webClient.get().uri(uri).accept(MediaType.APPLICATION_JSON))
+                .toEntityFlux(DataBuffer.class);
+        return retryPolicy.withRetries(call, this::retriesExhausted)
+                .map(response -> DataArrayExtractor.extract(Objects.requireNonNull(response.getBody())));
+    }
+
+    private List<Employee> fetchAllEmployeesFromShards() {
+        try {
+            List<Employee> employees = Flux.fromIterable(shardRouter.urls())
+                    .flatMapSequential(url -> fetchApiDataAsync(toUri(url)))
+                    .concatMapIterable(EmployeeServiceImpl::employeesOf)
+                    .collectList()
+                    .as(EmployeeServiceImpl::await);
+            log.info("Successfully fetched employees from {} shards. Total count: {}", shardRouter.urls().size(), employees.size());
+            return employees;
+        } catch (Exception e) {
+            throw handleException(e, "retrieve all employees");
+        }
+    }
+
+    /*
+     * Splits the id space into fetchPartitions ranges and pages through them concurrently, so the time to fill
+     * the cache is bounded by the pages of one range rather than the whole roster. Each upstream (shard) yields
+     * its employees in id order, and the per-shard lists are merged into one id-ordered roster.
+     */
+    private List<Employee> fetchAllEmployeesPaged() {
+        try {
+            List<List<Employee>> shards = Flux.fromIterable(upstreams())
+                    .flatMapSequential(url -> Flux.fromIterable(idRanges(fetchPartitions))
+                            .flatMapSequential(range -> fetchRange(url, range), fetchPartitions)
+                            .collectList())
+                    .collectList()
+                    .as(EmployeeServiceImpl::await);
+            List<Employee> employees = KWayMerge.merge(shards, BY_ID, Integer.MAX_VALUE);
+            log.info("Successfully fetched employees in {} ranges. Total count: {}", fetchPartitions, employees.size());
+            return employees;
+        } catch (Exception e) {
+            throw handleException(e, "retrieve all employees");
+        }
+    }
+
+    private Flux<Employee> fetchRange(String url, IdRange range) {
+        return fetchPage(url, range.cursor(), range.until(), pageSize)
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : fetchPage(url, page.getNextCursor(), range.until(), pageSize))
+                .concatMapIterable(EmployeeResponse::getEmployees);
+    }
+
+    private Mono<EmployeeResponse> fetchPage(String url, String cursor, String until, int limit) {
+        URI uri = UriComponentsBuilder.fromUriString(url)
+                .queryParam("limit", limit)
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParamIfPresent("until", Optional.ofNullable(until))
+                .build()
+                .encode()
+                .toUri();
+        return fetchApiDataAsync(uri);
+    }
+
+    // Contiguous ranges covering the whole id space; ids are compared as canonical UUID strings.
+    static List<IdRange> idRanges(int partitions) {
+        int count = Math.max(1, partitions);
+        long step = Long.divideUnsigned(-1L, count);
+        List<IdRange> ranges = new ArrayList<>(count);
+        String cursor = null;
+        for (int i = 1; i <= count; i++) {
+            String until = i == count ? null : new UUID(step * i, 0L).toString();
+            ranges.add(new IdRange(cursor, until));
+            cursor = until;
+        }
+        return ranges;
+    }
+
+    record IdRange(String cursor, String until) {
+    }
+
+    // Every base url the roster is spread over: the shards when sharded, otherwise employee.api.base-url alone.
+    private List<String> upstreams() {
+        return shardRouter.isSharded() ? shardRouter.urls() : List.of(baseUrl);
+    }
+
+    private String upstreamFor(String id) {
+        return shardRouter.isSharded() ? shardRouter.urlFor(id) : baseUrl;
+    }
+
+    private static List<Employee> employeesOf(EmployeeResponse response) {
+        return response.getEmployees() == null ? List.of() : response.getEmployees();
+    }
+
     public List<Employee> getEmployeesByNameSearch(String name) {
         log.info("Searching for employees with name containing '{}'", name);
         try {
-            List<Employee> matchingEmployees = getAllEmployees().stream()
-                    .filter(employee -> employee.getName().contains(name))
-                    .collect(Collectors.toList());
+            List<Employee> candidates = cachedOrQueried(query -> query.queryParam("nameContains", name), null, Integer.MAX_VALUE);
+            List<Employee> matchingEmployees = observeIndex("name-filter", () -> candidates.stream()
+                    .filter(employee -> employee.getName() != null && employee.getName().contains(name))
+                    .collect(Collectors.toList()));
 
-            if (matchingEmployees.isEmpty()) {
-                log.warn("No employees found matching name '{}'", name);
-                throw new EmployeeNotFoundException("No employees found with name containing: " + name);
-            }
+            // No match is an answer, not an error: the caller gets an empty list.
             log.info("Found {} employees with name containing: {}", matchingEmployees.size(), name);
             return matchingEmployees;
-        } catch (EmployeeNotFoundException e) {
-            throw e;
         } catch (Exception e) {
             throw handleException(e, "search employees by name");
         }
     }
 
+    @Override
+    public List<Employee> searchEmployees(String query, int limit, boolean fuzzy) {
+        log.info("Searching for up to {} employees matching '{}' (fuzzy: {})", limit, query, fuzzy);
+        try {
+            RosterSnapshot snapshot = getRosterSnapshot();
+            return observeIndex("name-search", () -> nameSearch.search(snapshot, query, Math.max(1, Math.min(MAX_SEARCH_RESULTS, limit)), fuzzy));
+        } catch (Exception e) {
+            throw handleException(e, "search employees");
+        }
+    }
+
+    /*
+     * Reads from the cached roster when it is fresh. Otherwise the filter, sort and limit are pushed down to the
+     * mock employee API so only the answer is transferred; callers still apply their own filter to the result,
+     * which may also be a stale roster when the mock employee API fails.
+     * When sharded the query is scattered to every shard and the partial results are merged in the query's
+     * order (or simply concatenated when it has none).
+     */
+    private List<Employee> cachedOrQueried(UnaryOperator<UriComponentsBuilder> query, Comparator<Employee> order, int limit) {
+        Optional<RosterSnapshot> cached = freshRoster();
+        if (cached.isPresent()) {
+            return cached.get().employees();
+        }
+        try {
+            return queried(query, order, limit);
+        } catch (RuntimeException e) {
+            return staleRoster().map(RosterSnapshot::employees).orElseThrow(() -> e);
+        }
+    }
+
+    private List<Employee> queried(UnaryOperator<UriComponentsBuilder> query, Comparator<Employee> order, int limit) {
+        if (!shardRouter.isSharded()) {
+            URI uri = query.apply(UriComponentsBuilder.fromUriString(baseUrl)).build().encode().toUri();
+            return employeesOf(fetchApiData(uri));
+        }
+        List<List<Employee>> parts = Flux.fromIterable(shardRouter.urls())
+                .flatMapSequential(url -> fetchApiDataAsync(query.apply(UriComponentsBuilder.fromUriString(url)).build().encode().toUri()))
+                .map(EmployeeServiceImpl::employeesOf)
+                .collectList()
+                .as(EmployeeServiceImpl::await);
+        if (order == null) {
+            return parts.stream().flatMap(List::stream).toList();
+        }
+        return KWayMerge.merge(parts, order, limit);
+    }
+
     public Employee getEmployeeById(String id) {
         log.info("Request to fetch employee with ID: {}", id);
         try {
-            String responseString = fetchApiData(baseUrl + "/" + id);
-            EmployeeResponse employeeResponse = parseResponse(responseString, EmployeeResponse.class);
+            EmployeeResponse employeeResponse = fetchApiData(upstreamFor(id) + "/" + id);
             if (employeeResponse.getData() == null) {
                 throw new EmployeeNotFoundException("Employee not found with ID: " + id);
             }
             return employeeResponse.getData();
-        } catch (WebClientResponseException.TooManyRequests e) {
-            log.warn("Received 429 Too Many Requests. Retrying...");
-            throw e;
         } catch (EmployeeNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -109,8 +409,13 @@ public class EmployeeServiceImpl implements IEmployeeService {
     public int getHighestSalaryOfEmployees() {
         log.info("Calculating highest salary among employees");
         try {
-            return getAllEmployees().stream()
+            List<Employee> candidates = cachedOrQueried(query -> query
+                    .queryParam("sort", "salary:desc")
+                    .queryParam("limit", 1)
+                    .queryParam("fields", "salary"), BY_SALARY_DESC, 1);
+            return candidates.stream()
                     .map(Employee::getSalary)
+                    .filter(Objects::nonNull)
                     .max(Comparator.naturalOrder())
                     .orElseThrow(() -> new EmployeeServiceException("No employees found to calculate highest salary"));
         } catch (Exception e) {
@@ -122,8 +427,13 @@ public class EmployeeServiceImpl implements IEmployeeService {
     public List<Employee> getTop10HighestEarningEmployeeNames() {
         log.info("Fetching top 10 highest-earning employees");
         try {
-            return getAllEmployees().stream()
-                    .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+            List<Employee> candidates = cachedOrQueried(query -> query
+                    .queryParam("sort", "salary:desc")
+                    .queryParam("limit", 10), BY_SALARY_DESC, 10);
+            // A cached or stale roster comes back whole and unsorted; an unknown salary is not among the highest.
+            return candidates.stream()
+                    .filter(employee -> employee.getSalary() != null)
+                    .sorted(BY_SALARY_DESC)
                     .limit(10)
                     .collect(Collectors.toList());
         } catch (Exception e) {
@@ -132,19 +442,20 @@ public class EmployeeServiceImpl implements IEmployeeService {
     }
 
     public Employee createEmployee(EmployeeInput employeeInput) {
+        return createEmployee(employeeInput, UUID.randomUUID().toString());
+    }
+
+    @Override
+    public Employee createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
         log.info("Requesting to create a new employee.");
         try {
-            postEmployeeData(employeeInput);
-            Employee employee = getEmployeesByNameSearch(employeeInput.getName())
-                    .stream()
-                    .filter(e -> e.getName().equals(employeeInput.getName()))
-                    .toList()
-                    .get(0);
+            String url = shardRouter.isSharded() ? shardRouter.urlForCreate() : baseUrl;
+            Employee employee = postEmployeeData(url, employeeInput, idempotencyKey);
+            rosterCache.add(employee);
+            nameSearch.add(employee);
+            rosterEvents.publish(RosterEvent.created(employee));
             log.info("Successfully posted employee: {}", employee.getName());
             return employee;
-        } catch (WebClientResponseException.TooManyRequests e) {
-            log.warn("Received 429 Too Many Requests. Retrying...");
-            throw e;
         } catch (Exception e) {
             throw handleException(e, "create employee");
         }
@@ -154,75 +465,142 @@ public class EmployeeServiceImpl implements IEmployeeService {
         log.info("Requesting to delete employee : {}", id);
         try {
             Employee employee = getEmployeeById(id);
-            deleteEmployeeData(employee.getName());
+            deleteEmployeeData(upstreamFor(employee.getId()), employee.getName());
+            rosterCache.remove(employee.getId());
+            nameSearch.remove(employee.getId());
+            rosterEvents.publish(RosterEvent.deleted(employee.getId()));
             log.info("Successfully deleted employee: {}", employee.getName());
             return "Successfully deleted employee: " + employee.getName();
-        } catch (WebClientResponseException.TooManyRequests e) {
-            log.warn("Received 429 Too Many Requests. Retrying...");
-            throw e;
         } catch (Exception e) {
             throw handleException(e, "delete employee by name");
         }
     }
 
-    private String fetchApiData(String url) {
-        RetryBackoffSpec retrySpecs = getRetrySpecs();
-        log.info("Getting data from url: {}", url);
-        return webClient.get()
+    private EmployeeResponse fetchApiData(String url) {
+        return fetchApiData(toUri(url));
+    }
+
+    private static URI toUri(String url) {
+        return UriComponentsBuilder.fromUriString(url).build().encode().toUri();
+    }
+
+    private EmployeeResponse fetchApiData(URI uri) {
+        return fetchApiDataAsync(uri).as(EmployeeServiceImpl::await);
+    }
+
+    private Mono<EmployeeResponse> fetchApiDataAsync(URI uri) {
+        log.info("Getting data from url: {}", uri);
+        Observation parent = observationRegistry.getCurrentObservation();
+        Mono<ResponseEntity<byte[]>> call = retrieve(webClient.get().uri(uri)).toEntity(byte[].class);
+        return retryPolicy.withRetries(call, this::retriesExhausted)
+                .flatMap(response -> Mono.fromCallable(() -> parseResponse(response, parent)));
+    }
+
+    private static WebClient.ResponseSpec retrieve(WebClient.RequestHeadersSpec<?> request) {
+        // Throttles are retried (after Retry-After when given, else with backoff); other 4xx are final.
+        return request.retrieve()
+                .onStatus(UpstreamRetryPolicy::isThrottled, response -> Mono.error(UpstreamThrottledException.of(response)))
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(UPSTREAM_ERROR))
+                .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(UPSTREAM_REJECTED));
+    }
+
+    // The retry policy has already logged why it gave up.
+    private RuntimeException retriesExhausted(Throwable failure) {
+        return new EmployeeServiceException("Service Unavailable : " + failure.getMessage());
+    }
+
+    /*
+     * Waits for an upstream call like block(), without its cost on failure: block() attaches a freshly captured
+     * "#block terminated with an error" exception to everything it rethrows, while the materialized error signal
+     * is rethrown as is.
+     */
+    private static <T> T await(Mono<T> call) {
+        Signal<T> signal = call.materialize().block();
+        if (signal != null && signal.isOnError()) {
+            throw Exceptions.propagate(signal.getThrowable());
+        }
+        return signal == null ? null : signal.get();
+    }
+
+    // Every retry carries the same Idempotency-Key, so one the mock employee API already handled is not applied twice;
+    // the response carries the created employee, and a replayed create answers with the one created first.
+    private Employee postEmployeeData(String url, EmployeeInput employee, String idempotencyKey) {
+        Observation parent = observationRegistry.getCurrentObservation();
+        Mono<ResponseEntity<byte[]>> call = webClient.post()
                 .uri(url)
-                .retrieve()
-                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(new EmployeeServiceException("Error in getting employees")))
-                .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(new EmployeeNotFoundException("Error in getting employees, please try again after sometime")))
-                .bodyToMono(String.class)
-                .retryWhen(retrySpecs)
-                .block();
-    }
-
-    private RetryBackoffSpec getRetrySpecs() {
-        return Retry.fixedDelay(5, Duration.ofSeconds(3))
-                .doBeforeRetry(beforeRetry -> {
-                    log.error("Error while connecting to service, message: {}", beforeRetry.failure().getMessage());
-                })
-                .filter(throwable -> throwable instanceof WebClientResponseException.TooManyRequests)
-                .onRetryExhaustedThrow((retrySpecs, retrySignal) -> handleException(new EmployeeServiceException(retrySignal.failure().getMessage()), "Service Unavailable"));
-    }
-
-    private void postEmployeeData(EmployeeInput employee) {
-        RetryBackoffSpec retrySpecs = getRetrySpecs();
-        webClient.post()
-                .uri(baseUrl)
+                .header(IdempotentRequests.IDEMPOTENCY_KEY, idempotencyKey)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(Mono.just(employee), EmployeeInput.class)
                 .retrieve()
-                .onStatus( HttpStatusCode::is5xxServerError, response -> Mono.error(new EmployeeCreationException("Failed to create employee")))
-                .toBodilessEntity()
-                .retryWhen(retrySpecs)
-                .block();
+                .onStatus(UpstreamRetryPolicy::isThrottled, response -> Mono.error(UpstreamThrottledException.of(response)))
+                .onStatus( HttpStatusCode::is5xxServerError, response -> Mono.error(CREATION_FAILED))
+                .toEntity(byte[].class);
+        EmployeeResponse created = retryPolicy.withRetries(call, this::retriesExhausted)
+                .flatMap(response -> Mono.fromCallable(() -> parseResponse(response, parent)))
+                .as(EmployeeServiceImpl::await);
+        if (created.getData() == null) {
+            throw new EmployeeServiceException("Employee API did not return the created employee");
+        }
+        return created.getData();
     }
 
-    private void deleteEmployeeData(String name) {
-        RetryBackoffSpec retrySpecs = getRetrySpecs();
+    private void deleteEmployeeData(String url, String name) {
         Map<String, String> requestBody = new HashMap<>();
         requestBody.put("name", name);
-        webClient.method(HttpMethod.DELETE)
-                .uri(baseUrl)
+        Mono<ResponseEntity<Void>> call = webClient.method(HttpMethod.DELETE)
+                .uri(url)
                 .contentType(MediaType.APPLICATION_JSON)
                 .body(Mono.just(requestBody), HashMap.class)
                 .retrieve()
-                .onStatus( HttpStatusCode::is5xxServerError, response -> Mono.error(new EmployeeDeletionException("Failed to delete employee")))
-                .toBodilessEntity()
-                .retryWhen(retrySpecs)
-                .block();
+                .onStatus(UpstreamRetryPolicy::isThrottled, response -> Mono.error(UpstreamThrottledException.of(response)))
+                .onStatus( HttpStatusCode::is5xxServerError, response -> Mono.error(DELETION_FAILED))
+                .toBodilessEntity();
+        retryPolicy.withRetries(call, this::retriesExhausted).as(EmployeeServiceImpl::await);
+    }
+
+    // The mock employee API answers in Smile when we ask for it (see WebClientConfig) and JSON otherwise.
+    private EmployeeResponse parseResponse(ResponseEntity<byte[]> response, Observation parent) throws IOException {
+        byte[] body = response.getBody();
+        if (body == null) {
+            throw new EmployeeServiceException("Empty response from employee API");
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        boolean smile = WebClientConfig.APPLICATION_SMILE.isCompatibleWith(contentType);
+        ObjectMapper mapper = smile ? smileMapper : objectMapper;
+        return Observation.createNotStarted(PARSE_OBSERVATION, observationRegistry)
+                .parentObservation(parent)
+                .lowCardinalityKeyValue("format", smile ? "smile" : "json")
+                .highCardinalityKeyValue("bytes", Integer.toString(body.length))
+                .observeChecked(() -> mapper.readValue(body, EmployeeResponse.class));
     }
 
-    private <T> T parseResponse(String response, Class<T> clas) throws JsonProcessingException {
-        return objectMapper.readValue(response, clas);
+    private Optional<RosterSnapshot> freshRoster() {
+        Observation observation = Observation.start(CACHE_OBSERVATION, observationRegistry);
+        Optional<RosterSnapshot> cached = rosterCache.fresh();
+        observation.lowCardinalityKeyValue("result", cached.isPresent() ? "hit" : "miss").stop();
+        return cached;
     }
 
+    private <T> T observeIndex(String index, Supplier<T> query) {
+        return Observation.createNotStarted(INDEX_OBSERVATION, observationRegistry)
+                .lowCardinalityKeyValue("index", index)
+                .observe(query);
+    }
+
+    // Our own exceptions already say what the client gets and are raised for every rejected upstream call, so they
+    // pass through as they are, logged without building anything; only unexpected failures are wrapped.
     private RuntimeException handleException(Exception e, String operation) {
-        log.error("Error during operation '{}': {}", operation, e.getMessage());
-        if (e instanceof EmployeeCreationException) return (EmployeeCreationException) e;
-        if (e instanceof EmployeeDeletionException) return (EmployeeDeletionException) e;
-        return new EmployeeServiceException( operation + " : " + e.getMessage());
+        if (e instanceof EmployeeServiceException) {
+            log.warn("Operation '{}' failed: {}", operation, e.getMessage());
+            return (EmployeeServiceException) e;
+        }
+        if (e instanceof EmployeeNotFoundException || e instanceof EmployeeCreationException
+                || e instanceof EmployeeDeletionException || e instanceof BulkheadRejectedException
+                || e instanceof UpstreamThrottledException) {
+            log.debug("Operation '{}' rejected: {}", operation, e.getMessage());
+            return (RuntimeException) e;
+        }
+        log.error("Error during operation '{}'", operation, e);
+        return new EmployeeServiceException(operation + " : " + e.getMessage());
     }
 }
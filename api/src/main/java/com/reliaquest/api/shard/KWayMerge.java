@@ -0,0 +1,42 @@
+package com.reliaquest.api.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges partial results that are each already sorted (one list per shard) into one sorted list, stopping at
+ * {@code limit}. Costs O(n log k) for k shards and never sorts the combined result. The merge is stable: equal
+ * elements keep their order within a part, and come from earlier parts first. Duplicates are kept.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    public static <T> List<T> merge(List<? extends List<? extends T>> sorted, Comparator<? super T> order, int limit) {
+        Comparator<Head<T>> byValue = (left, right) -> order.compare(left.value, right.value);
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sorted.size()),
+                byValue.thenComparingInt(Head::part));
+        for (int part = 0; part < sorted.size(); part++) {
+            Iterator<? extends T> iterator = sorted.get(part).iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator, part));
+            }
+        }
+        List<T> merged = new ArrayList<>();
+        while (!heads.isEmpty() && merged.size() < limit) {
+            Head<T> head = heads.poll();
+            merged.add(head.value);
+            if (head.rest.hasNext()) {
+                heads.add(new Head<>(head.rest.next(), head.rest, head.part));
+            }
+        }
+        return merged;
+    }
+
+    private record Head<T>(T value, Iterator<? extends T> rest, int part) {
+    }
+}
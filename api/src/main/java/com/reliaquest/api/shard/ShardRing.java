@@ -0,0 +1,50 @@
+package com.reliaquest.api.shard;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring over employee ids. Must stay identical to the mock server's EmployeeShard: every shard owns
+ * {@code virtualNodes} points and an id belongs to the shard of the first point at or after its hash.
+ */
+public final class ShardRing {
+
+    private final long[] points;
+
+    private final int[] owners;
+
+    public ShardRing(int shards, int virtualNodes) {
+        int nodes = Math.max(1, virtualNodes);
+        long[][] entries = new long[shards * nodes][];
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < nodes; node++) {
+                entries[shard * nodes + node] = new long[]{mix(((long) shard << 32) | node), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        points = new long[entries.length];
+        owners = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    public int ownerOf(UUID id) {
+        int position = Arrays.binarySearch(points, hash(id));
+        int point = position >= 0 ? position : -position - 1;
+        return owners[point == points.length ? 0 : point];
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    // SplitMix64 finalizer.
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
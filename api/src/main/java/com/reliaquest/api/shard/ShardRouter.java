@@ -0,0 +1,70 @@
+package com.reliaquest.api.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Knows the base urls of the mock employee API shards and which of them owns an employee id.
+ * With fewer than two shards configured the api talks to employee.api.base-url only.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    @Value("${employee.api.shards:}")
+    private List<String> shardUrls = List.of();
+
+    @Value("${employee.api.shard-virtual-nodes:128}")
+    private int virtualNodes = 128;
+
+    private final AtomicInteger nextCreate = new AtomicInteger();
+
+    private volatile ShardRing ring;
+
+    public ShardRouter() {
+    }
+
+    public ShardRouter(List<String> shardUrls, int virtualNodes) {
+        this.shardUrls = List.copyOf(shardUrls);
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isSharded() {
+        return shardUrls.size() > 1;
+    }
+
+    public List<String> urls() {
+        return shardUrls;
+    }
+
+    public String urlFor(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            // Not an id any shard can own; let the first shard answer it like a single server would.
+            return shardUrls.get(0);
+        }
+        return shardUrls.get(ring().ownerOf(uuid));
+    }
+
+    // New employees get their id from the shard that creates them, so creates are simply spread round-robin.
+    public String urlForCreate() {
+        return shardUrls.get(Math.floorMod(nextCreate.getAndIncrement(), shardUrls.size()));
+    }
+
+    private ShardRing ring() {
+        ShardRing current = ring;
+        if (current == null) {
+            current = new ShardRing(shardUrls.size(), virtualNodes);
+            ring = current;
+            log.info("Routing employees over {} shards: {}", shardUrls.size(), shardUrls);
+        }
+        return current;
+    }
+}
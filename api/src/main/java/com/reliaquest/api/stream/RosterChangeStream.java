@@ -0,0 +1,137 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.IRosterCacheListener;
+import com.reliaquest.api.cache.RosterEvent;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IEmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Server-sent events for dashboards that would otherwise poll /top10 and /highest-salary: every create and delete
+ * (made here or on a peer) as it happens, and the top 10 earners and the highest salary whenever they change.
+ * <p>
+ * All subscribers share one multicast sink of roster changes and one derived view of the roster. While anyone is
+ * subscribed, a single periodic sync keeps the cached roster fresh, so the upstream sees one fetch per
+ * {@code syncInterval} (at most one per cache TTL) however many dashboards listen. Each subscriber has its own
+ * bounded buffer: a slow one loses its oldest events rather than holding up the others.
+ */
+@Slf4j
+@Component
+public class RosterChangeStream implements IRosterCacheListener {
+
+    static final String DROPPED_METRIC = "employee.api.stream.dropped";
+
+    private static final Comparator<Employee> BY_SALARY_DESC = Comparator.comparing(Employee::getSalary, Comparator.reverseOrder());
+
+    private final int bufferSize;
+
+    private final Counter dropped;
+
+    private final Sinks.Many<RosterEvent> changes = Sinks.many().multicast().directBestEffort();
+
+    private final Sinks.Many<RosterSnapshot> snapshots = Sinks.many().multicast().directBestEffort();
+
+    private final Flux<Summary> summaries;
+
+    public RosterChangeStream(EmployeeRosterCache rosterCache, IEmployeeService employeeService, MeterRegistry meterRegistry,
+                              @Value("${employee.stream.sync-interval:PT30S}") Duration syncInterval,
+                              @Value("${employee.stream.buffer-size:256}") int bufferSize) {
+        this.bufferSize = bufferSize;
+        this.dropped = Counter.builder(DROPPED_METRIC)
+                .description("Roster stream events dropped because a subscriber fell behind")
+                .register(meterRegistry);
+        // The sync only refreshes the cache; the new snapshot then arrives through updated().
+        Flux<RosterSnapshot> sync = Flux.interval(Duration.ZERO, syncInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> Mono.fromCallable(employeeService::getAllEmployees)
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .onErrorResume(e -> {
+                            log.warn("Roster stream sync failed: {}", e.getMessage());
+                            return Mono.empty();
+                        })
+                        .then(Mono.<RosterSnapshot>empty()));
+        // Summaries are computed off the thread that changed the cache.
+        this.summaries = Flux.merge(snapshots.asFlux(), Mono.defer(() -> Mono.justOrEmpty(rosterCache.current())), sync)
+                .publishOn(Schedulers.parallel())
+                .map(Summary::of)
+                .replay(1)
+                .refCount();
+        rosterCache.addListener(this);
+    }
+
+    public Flux<ServerSentEvent<Object>> events() {
+        Flux<ServerSentEvent<Object>> changed = changes.asFlux().map(RosterChangeStream::toEvent);
+        Flux<ServerSentEvent<Object>> top10 = summaries.map(Summary::top10)
+                .distinctUntilChanged()
+                .map(employees -> event("top10", employees));
+        Flux<ServerSentEvent<Object>> highestSalary = summaries.mapNotNull(Summary::highestSalary)
+                .distinctUntilChanged()
+                .map(salary -> event("highest-salary", salary));
+        return Flux.merge(changed, top10, highestSalary)
+                .onBackpressureBuffer(bufferSize, ignored -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    @Override
+    public void updated(RosterSnapshot snapshot) {
+        emit(snapshots, snapshot);
+    }
+
+    @Override
+    public void changed(RosterEvent event) {
+        emit(changes, event);
+    }
+
+    // Sinks take one emitter at a time; with no subscriber the value is simply not delivered.
+    private synchronized <T> void emit(Sinks.Many<T> sink, T value) {
+        Sinks.EmitResult result = sink.tryEmitNext(value);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            log.debug("Roster stream could not emit {}: {}", value.getClass().getSimpleName(), result);
+        }
+    }
+
+    private static ServerSentEvent<Object> toEvent(RosterEvent event) {
+        return switch (event.type()) {
+            case CREATED -> ServerSentEvent.builder((Object) event.employee())
+                    .id(event.employeeId())
+                    .event("created")
+                    .build();
+            case DELETED -> ServerSentEvent.builder((Object) event.employeeId())
+                    .id(event.employeeId())
+                    .event("deleted")
+                    .build();
+        };
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
+    // Derived once per roster version and shared by every subscriber.
+    private record Summary(List<Employee> top10, Integer highestSalary) {
+
+        private static Summary of(RosterSnapshot snapshot) {
+            List<Employee> top10 = snapshot.employees().stream()
+                    .filter(employee -> employee.getSalary() != null)
+                    .sorted(BY_SALARY_DESC)
+                    .limit(10)
+                    .toList();
+            return new Summary(top10, top10.isEmpty() ? null : top10.get(0).getSalary());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.reliaquest.api.analytics.RosterAnalyticsCalculator;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterPageIndex;
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.codec.EmployeeJsonWriter;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.search.NameSearchIndex;
+import com.reliaquest.api.service.IEmployeeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gets a new replica into steady state before it takes traffic. Spring Boot marks the application ready
+ * (ReadinessState.ACCEPTING_TRAFFIC, /actuator/health/readiness UP) only after the ApplicationReadyEvent listeners
+ * have returned, so until this listener is done the replica reports REFUSING_TRAFFIC and load balancers keep
+ * sending requests elsewhere; once done it publishes ACCEPTING_TRAFFIC itself rather than rely on that ordering.
+ * Meanwhile it
+ * <ul>
+ *     <li>loads the roster into the cache, one upstream fetch instead of a burst of concurrent first requests
+ *     each tripping the mock employee API's rate limit;</li>
+ *     <li>builds the page, name search and analytics indexes over it;</li>
+ *     <li>runs the JSON and Smile (de)serialization of employees, and the index lookups, often enough for the JIT
+ *     to compile them.</li>
+ * </ul>
+ * Warm-up never keeps a replica out for good: after {@code timeout}, or when the upstream fails, it logs why and
+ * lets the replica become ready with whatever it has.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(name = "employee.warmup.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StartupWarmup {
+
+    private static final int SAMPLE_SIZE = 100;
+
+    private final IEmployeeService employeeService;
+
+    private final EmployeeRosterCache rosterCache;
+
+    private final RosterPageIndex rosterPageIndex;
+
+    private final NameSearchIndex nameSearch;
+
+    private final RosterAnalyticsCalculator analyticsCalculator;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher publisher;
+
+    private final SmileMapper smileMapper = new SmileMapper();
+
+    @Value("${employee.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${employee.warmup.timeout:PT60S}")
+    private Duration timeout;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+        long started = System.nanoTime();
+        Mono.fromRunnable(this::preloadAndExercise)
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Warm-up did not complete, accepting traffic anyway: {}", e.toString());
+                    return Mono.empty();
+                })
+                .block();
+        log.info("Warm-up finished in {} ms", Duration.ofNanos(System.nanoTime() - started).toMillis());
+        AvailabilityChangeEvent.publish(publisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    private void preloadAndExercise() {
+        try {
+            employeeService.getAllEmployees();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load the roster", e);
+        }
+        RosterSnapshot snapshot = rosterCache.current().orElseThrow(() -> new IllegalStateException("No roster was cached"));
+        log.info("Warm-up loaded {} employees (roster version {})", snapshot.size(), snapshot.version());
+        List<Employee> sample = List.copyOf(snapshot.employees().subList(0, Math.min(SAMPLE_SIZE, snapshot.size())));
+        String prefix = sample.stream()
+                .map(Employee::getName)
+                .filter(name -> name != null && name.length() >= 2)
+                .findFirst()
+                .map(name -> name.substring(0, 2))
+                .orElse("a");
+        analyticsCalculator.analyze(snapshot);
+        for (int i = 0; i < iterations; i++) {
+            rosterPageIndex.page(snapshot, null, SAMPLE_SIZE);
+            nameSearch.search(snapshot, prefix, 10, true);
+            exerciseCodecs(sample);
+        }
+    }
+
+    // The same shapes as the hot paths: the upstream's {"data": [...]} in JSON and Smile, and employee lists out
+    // through Jackson and through the direct writer of EmployeeJsonEncoder.
+    private void exerciseCodecs(List<Employee> sample) {
+        try {
+            Map<String, Object> upstream = Map.of("data", sample, "status", "Successfully processed request.");
+            objectMapper.readValue(objectMapper.writeValueAsBytes(upstream), EmployeeResponse.class);
+            smileMapper.readValue(smileMapper.writeValueAsBytes(upstream), EmployeeResponse.class);
+            objectMapper.writeValueAsBytes(sample);
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+                EmployeeJsonWriter.write(generator, sample);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not exercise the employee codecs", e);
+        }
+    }
+}
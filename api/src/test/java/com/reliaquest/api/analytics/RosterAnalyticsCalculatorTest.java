@@ -0,0 +1,68 @@
+package com.reliaquest.api.analytics;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeAnalytics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterAnalyticsCalculatorTest {
+
+    private final RosterAnalyticsCalculator calculator = new RosterAnalyticsCalculator();
+
+    @Test
+    void testAnalyzeSmallRoster() {
+        List<Employee> employees = List.of(
+                new Employee("1", "Ariel Larkin", 100, 24, "Developer", "a@company.com"),
+                new Employee("2", "Cordie Cole", 200, 30, "Developer", "c@company.com"),
+                new Employee("3", "Enoch Thiel", 300, 45, "Director", "e@company.com"),
+                new Employee("4", "Phil Beier", 400, 70, "Director", "p@company.com"));
+
+        EmployeeAnalytics analytics = calculator.analyze(new RosterSnapshot(1, Instant.now(), employees));
+
+        assertEquals(4, analytics.getHeadcount());
+        assertEquals(100, analytics.getSalary().getMin());
+        assertEquals(400, analytics.getSalary().getMax());
+        assertEquals(250.0, analytics.getSalary().getAverage());
+        assertEquals(200, analytics.getSalary().getMedian());
+        assertEquals(400, analytics.getSalary().getP99());
+        assertEquals(4, analytics.getSalaryHistogram().stream().mapToLong(EmployeeAnalytics.HistogramBucket::getCount).sum());
+        assertEquals(2, analytics.getTitles().get("Director").getHeadcount());
+        assertEquals(150.0, analytics.getTitles().get("Developer").getAverageSalary());
+        assertEquals(1, analytics.getAgeBands().get(0).getCount());
+        assertEquals(1, analytics.getAgeBands().get(5).getCount());
+    }
+
+    @Test
+    void testAnalyzeIsMemoizedPerVersion() {
+        List<Employee> employees = List.of(new Employee("1", "Ariel Larkin", 100, 24, "Developer", "a@company.com"));
+
+        EmployeeAnalytics first = calculator.analyze(new RosterSnapshot(7, Instant.now(), employees));
+        EmployeeAnalytics second = calculator.analyze(new RosterSnapshot(7, Instant.now(), employees));
+        EmployeeAnalytics next = calculator.analyze(new RosterSnapshot(8, Instant.now(), employees));
+
+        assertSame(first, second);
+        assertNotSame(first, next);
+    }
+
+    @Test
+    void testParallelPassMatchesSequentialTotals() {
+        int size = RosterAnalyticsCalculator.PARALLEL_THRESHOLD * 3;
+        List<Employee> employees = IntStream.range(0, size)
+                .mapToObj(i -> new Employee(String.valueOf(i), "Employee " + i, 30000 + i, 16 + i % 55, "Title " + i % 7, null))
+                .toList();
+
+        EmployeeAnalytics analytics = calculator.analyze(new RosterSnapshot(1, Instant.now(), employees));
+
+        assertEquals(size, analytics.getHeadcount());
+        assertEquals(30000, analytics.getSalary().getMin());
+        assertEquals(30000 + size - 1, analytics.getSalary().getMax());
+        assertEquals(size, analytics.getTitles().values().stream().mapToLong(EmployeeAnalytics.TitleStats::getHeadcount).sum());
+        assertEquals(size, analytics.getAgeBands().stream().mapToLong(EmployeeAnalytics.AgeBand::getCount).sum());
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.bulkhead;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadTest {
+
+    private final LoadShedder shedder = new LoadShedder(8);
+
+    private final Bulkhead bulkhead = new Bulkhead("test", 2, 2, BulkheadPriority.HIGH, Duration.ofMinutes(1), shedder);
+
+    @Test
+    void testWaitersGetThePermitsOfFinishingRequestsInOrder() {
+        List<Bulkhead.Permit> running = new ArrayList<>();
+        bulkhead.acquire().subscribe(running::add);
+        bulkhead.acquire().subscribe(running::add);
+        List<String> started = new ArrayList<>();
+        bulkhead.acquire().subscribe(permit -> started.add("third"));
+        bulkhead.acquire().subscribe(permit -> started.add("fourth"));
+        assertEquals(2, bulkhead.active());
+        assertEquals(2, bulkhead.queued());
+
+        StepVerifier.create(bulkhead.acquire())
+                .expectErrorSatisfies(e -> assertEquals(Bulkhead.QUEUE_FULL, ((BulkheadRejectedException) e).getReason()))
+                .verify();
+
+        running.get(0).release();
+        running.get(0).release();
+        assertEquals(List.of("third"), started);
+        running.get(1).release();
+        assertEquals(List.of("third", "fourth"), started);
+        assertEquals(2, bulkhead.active());
+        assertEquals(0, bulkhead.queued());
+        assertEquals(0, shedder.queued());
+    }
+
+    @Test
+    void testLowPrioritiesAreShedFirst() {
+        Bulkhead low = new Bulkhead("low", 0, 8, BulkheadPriority.LOW, Duration.ofMinutes(1), shedder);
+        Bulkhead normal = new Bulkhead("normal", 0, 8, BulkheadPriority.NORMAL, Duration.ofMinutes(1), shedder);
+        List<Disposable> waiting = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            waiting.add(low.acquire().subscribe());
+        }
+
+        StepVerifier.create(low.acquire())
+                .expectErrorSatisfies(e -> assertEquals(Bulkhead.SHED, ((BulkheadRejectedException) e).getReason()))
+                .verify();
+        waiting.add(normal.acquire().subscribe());
+        waiting.add(normal.acquire().subscribe());
+        StepVerifier.create(normal.acquire())
+                .expectErrorSatisfies(e -> assertEquals(Bulkhead.SHED, ((BulkheadRejectedException) e).getReason()))
+                .verify();
+        assertEquals(6, shedder.queued());
+
+        waiting.forEach(Disposable::dispose);
+        assertEquals(0, shedder.queued());
+        assertEquals(0, low.queued());
+    }
+
+    @Test
+    void testWaitingGivesUpAfterMaxWait() {
+        Bulkhead full = new Bulkhead("full", 0, 1, BulkheadPriority.HIGH, Duration.ofMillis(50), shedder);
+
+        StepVerifier.create(full.acquire().then(Mono.just("ran")))
+                .expectErrorSatisfies(e -> assertEquals(Bulkhead.TIMED_OUT, ((BulkheadRejectedException) e).getReason()))
+                .verify(Duration.ofSeconds(5));
+        assertEquals(0, full.queued());
+        assertEquals(0, shedder.queued());
+    }
+}
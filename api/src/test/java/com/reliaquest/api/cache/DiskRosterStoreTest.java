@@ -0,0 +1,73 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiskRosterStoreTest {
+
+    private final Employee ariel = new Employee("b328f159-1841-4411-8032-78c8be1ea190", "Ariel Larkin", 244740, 46,
+            "Construction Officer", "domainer@company.com");
+
+    private final Employee cordie = new Employee("62272440-1381-45e5-9ebd-52edbb7357dc", "Cordie Cole", null, 69,
+            "Future Designer", null);
+
+    private final Instant fetchedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @Test
+    void testLoadsTheLastSavedSnapshot() throws IOException {
+        Path directory = Files.createTempDirectory("roster-store");
+        DiskRosterStore store = new DiskRosterStore(directory);
+        assertTrue(store.load().isEmpty());
+
+        store.save(new RosterSnapshot(3, fetchedAt.minusSeconds(60), List.of(ariel)));
+        store.save(new RosterSnapshot(4, fetchedAt, List.of(ariel, cordie)));
+
+        RosterSnapshot loaded = new DiskRosterStore(directory).load().orElseThrow();
+        assertEquals(4, loaded.version());
+        assertEquals(fetchedAt, loaded.fetchedAt());
+        assertEquals(List.of(ariel, cordie), new ArrayList<>(loaded.employees()));
+        assertEquals(cordie, ((OffHeapRoster) loaded.employees()).find(cordie.getId()));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void testIgnoresACorruptedFile() throws IOException {
+        Path directory = Files.createTempDirectory("roster-store");
+        DiskRosterStore store = new DiskRosterStore(directory);
+        store.save(new RosterSnapshot(1, fetchedAt, List.of(ariel, cordie)));
+        Path file = directory.resolve("roster.snapshot");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+
+        assertTrue(store.load().isEmpty());
+
+        Files.write(file, new byte[] {1, 2, 3});
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    void testRestoredSnapshotIsServedOnlyWithinMaxStale() {
+        EmployeeRosterCache rosterCache = new EmployeeRosterCache();
+
+        rosterCache.restore(new RosterSnapshot(7, fetchedAt.minusSeconds(3600), List.of(ariel)));
+
+        assertEquals(7, rosterCache.current().orElseThrow().version());
+        assertTrue(rosterCache.fresh().isEmpty());
+        assertTrue(rosterCache.stale().isEmpty());
+        assertEquals(8, rosterCache.replace(List.of(cordie)).version());
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapRosterTest {
+
+    private final Employee ariel = new Employee("b328f159-1841-4411-8032-78c8be1ea190", "Ariel Larkin", 244740, 46,
+            "Construction Officer", "domainer@company.com");
+
+    private final Employee zoe = new Employee("3d6728bc-0a0a-490b-8739-c6ff4ad33072", "Zo\u00eb \u00c5ngstr\u00f6m \ud83d\ude80",
+            347496, 18, "Administration Coordinator", "zoe@company.com");
+
+    private final Employee blank = new Employee(null, null, null, null, null, null);
+
+    @Test
+    void testDecodesWhatWasEncoded() {
+        for (RosterMemory memory : List.of(RosterMemory.DIRECT, RosterMemory.MAPPED)) {
+            OffHeapRoster roster = OffHeapRoster.encode(List.of(ariel, zoe, blank), memory);
+
+            assertEquals(List.of(ariel, zoe, blank), new ArrayList<>(roster), memory.name());
+            assertEquals(zoe, roster.find(zoe.getId()));
+            assertNull(roster.find("missing"));
+            assertNull(roster.find(null));
+        }
+    }
+
+    @Test
+    void testWithAndWithoutCopyIntoNewRosters() {
+        OffHeapRoster roster = OffHeapRoster.encode(List.of(ariel, zoe), RosterMemory.DIRECT);
+        Employee promoted = new Employee(ariel.getId(), ariel.getName(), 300000, 47, "Chief Officer", ariel.getEmail());
+        Employee cordie = new Employee("62272440-1381-45e5-9ebd-52edbb7357dc", "Cordie Cole", 459227, 69,
+                "Future Designer", "solarbreeze@company.com");
+
+        OffHeapRoster replaced = roster.with(promoted);
+        assertEquals(List.of(zoe, promoted), new ArrayList<>(replaced));
+        assertEquals(promoted, replaced.find(ariel.getId()));
+
+        OffHeapRoster added = replaced.with(cordie);
+        assertEquals(List.of(zoe, promoted, cordie), new ArrayList<>(added));
+
+        OffHeapRoster removed = added.without(zoe.getId());
+        assertEquals(List.of(promoted, cordie), new ArrayList<>(removed));
+        assertNull(removed.find(zoe.getId()));
+        assertEquals(cordie, removed.find(cordie.getId()));
+        assertSame(removed, removed.without("missing"));
+
+        assertEquals(List.of(ariel, zoe), new ArrayList<>(roster));
+    }
+
+    @Test
+    void testSortsByIdLikeTheHeapRoster() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            employees.add(new Employee(new UUID(random.nextLong(), random.nextLong()).toString(), "Employee " + i,
+                    random.nextInt(500000), 20 + random.nextInt(50), "Developer", i + "@company.com"));
+        }
+        employees.add(blank);
+        OffHeapRoster roster = OffHeapRoster.encode(employees, RosterMemory.DIRECT);
+
+        List<Employee> expected = new ArrayList<>(employees);
+        expected.sort(Comparator.comparing(Employee::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        assertEquals(expected, new ArrayList<>(roster.sortedById()));
+        for (Employee employee : employees.subList(0, 100)) {
+            assertEquals(employee, roster.find(employee.getId()));
+        }
+    }
+
+    @Test
+    void testOffHeapSnapshotIsNotCopiedOntoTheHeap() {
+        OffHeapRoster roster = OffHeapRoster.encode(List.of(ariel), RosterMemory.DIRECT);
+
+        assertSame(roster, new RosterSnapshot(1, Instant.now(), roster).employees());
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameSearchIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterCoherenceTest {
+
+    private final EmployeeRosterCache rosterCache = new EmployeeRosterCache();
+
+    private final RosterCoherence coherence = new RosterCoherence(IRosterEventChannel.none(), rosterCache, new NameSearchIndex());
+
+    private final Employee ariel = new Employee("1", "Ariel Larkin", 100, 24, "Developer", "a@company.com");
+
+    private final Employee cordie = new Employee("2", "Cordie Cole", 200, 30, "Developer", "c@company.com");
+
+    @Test
+    void testPeerMutationsPatchTheSnapshot() {
+        long version = rosterCache.replace(List.of(ariel)).version();
+
+        coherence.apply(RosterEvent.created(cordie).from("peer", 1));
+        assertEquals(List.of(ariel, cordie), rosterCache.fresh().orElseThrow().employees());
+
+        coherence.apply(RosterEvent.deleted("1").from("peer", 2));
+        RosterSnapshot patched = rosterCache.fresh().orElseThrow();
+        assertEquals(List.of(cordie), patched.employees());
+        assertTrue(patched.version() > version);
+    }
+
+    @Test
+    void testMissedPeerEventInvalidatesTheSnapshot() {
+        rosterCache.replace(List.of(ariel));
+
+        coherence.apply(RosterEvent.created(cordie).from("peer", 1));
+        coherence.apply(RosterEvent.deleted("2").from("peer", 3));
+
+        assertTrue(rosterCache.current().isEmpty());
+    }
+}
@@ -0,0 +1,74 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.OffHeapRoster;
+import com.reliaquest.api.cache.RosterMemory;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeJsonEncoderTest {
+
+    private static final ResolvableType EMPLOYEE_LIST = ResolvableType.forClassWithGenerics(List.class, Employee.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final EmployeeJsonEncoder encoder = new EmployeeJsonEncoder(objectMapper.getFactory());
+
+    @Test
+    void testEncodesEmployeesAndListsOfThemAsJsonOnly() {
+        assertTrue(encoder.canEncode(ResolvableType.forClass(Employee.class), MediaType.APPLICATION_JSON));
+        assertTrue(encoder.canEncode(EMPLOYEE_LIST, null));
+        assertTrue(encoder.canEncode(EMPLOYEE_LIST, MediaType.ALL));
+        assertFalse(encoder.canEncode(EMPLOYEE_LIST, MediaType.APPLICATION_NDJSON));
+        assertFalse(encoder.canEncode(EMPLOYEE_LIST, MediaType.TEXT_EVENT_STREAM));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(List.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClassWithGenerics(List.class, EmployeeInput.class), MediaType.APPLICATION_JSON));
+        assertFalse(encoder.canEncode(ResolvableType.forClass(Object.class), MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testWritesLargeRostersInChunks() throws Exception {
+        List<Employee> employees = IntStream.range(0, 3000)
+                .mapToObj(i -> new Employee("id-" + i, "Employee " + i, 1000 + i, 30, "Developer", i + "@company.com"))
+                .toList();
+        for (List<Employee> roster : List.of(employees, OffHeapRoster.encode(employees, RosterMemory.DIRECT))) {
+            List<DataBuffer> chunks = encoder.encode(Mono.just(roster), DefaultDataBufferFactory.sharedInstance, EMPLOYEE_LIST,
+                    MediaType.APPLICATION_JSON, null).collectList().block();
+
+            assertTrue(chunks.size() > 1);
+            assertTrue(chunks.stream().allMatch(chunk -> chunk.readableByteCount() <= EmployeeJsonEncoder.CHUNK_BYTES));
+            assertEquals(objectMapper.writeValueAsString(employees), text(DefaultDataBufferFactory.sharedInstance.join(chunks)));
+        }
+    }
+
+    @Test
+    void testWritesAFluxOfEmployeesAsOneArray() throws Exception {
+        Employee first = new Employee("1", "First", 1, 20, "Developer", "first@company.com");
+        Employee second = new Employee("2", "Second", null, null, null, null);
+
+        DataBuffer single = encoder.encodeValue(first, DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(Employee.class), MediaType.APPLICATION_JSON, null);
+        assertEquals(objectMapper.writeValueAsString(first), text(single));
+
+        List<DataBuffer> chunks = encoder.encode(Flux.just(first, second), DefaultDataBufferFactory.sharedInstance,
+                ResolvableType.forClass(Employee.class), MediaType.APPLICATION_JSON, null).collectList().block();
+        assertEquals(objectMapper.writeValueAsString(List.of(first, second)), text(DefaultDataBufferFactory.sharedInstance.join(chunks)));
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.OffHeapRoster;
+import com.reliaquest.api.cache.RosterMemory;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmployeeJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Employee ariel = new Employee("b328f159-1841-4411-8032-78c8be1ea190", "Ariel Larkin", 244740, 46,
+            "Construction Officer", "domainer@company.com");
+
+    // Everything JSON escapes, and text beyond ASCII.
+    private final Employee zoe = new Employee("3d6728bc-0a0a-490b-8739-c6ff4ad33072", "Zo\u00eb \"Z\" \u00c5ngstr\u00f6m \ud83d\ude80",
+            347496, 18, "Tab\tNew\nline\\Slash\u0001", "zoe@company.com");
+
+    private final Employee blank = new Employee(null, null, null, null, null, null);
+
+    @Test
+    void testWritesAnEmployeeLikeJackson() throws IOException {
+        for (Employee employee : List.of(ariel, zoe, blank)) {
+            assertEquals(jackson(employee), write(generator -> EmployeeJsonWriter.write(generator, employee)));
+        }
+    }
+
+    @Test
+    void testWritesListsLikeJackson() throws IOException {
+        List<Employee> employees = Arrays.asList(ariel, zoe, null, blank);
+
+        assertEquals(jackson(employees), write(generator -> EmployeeJsonWriter.write(generator, employees)));
+        assertEquals("[]", write(generator -> EmployeeJsonWriter.write(generator, List.of())));
+    }
+
+    @Test
+    void testWritesOffHeapRostersInPlaceLikeJackson() throws IOException {
+        List<Employee> employees = new ArrayList<>(List.of(ariel, zoe, blank));
+        // Longer than the first scratch array.
+        employees.add(new Employee("long", "N".repeat(1000), 1, 2, "\u00e9".repeat(300), null));
+        for (RosterMemory memory : List.of(RosterMemory.DIRECT, RosterMemory.MAPPED)) {
+            OffHeapRoster roster = OffHeapRoster.encode(employees, memory);
+
+            String written = write(generator -> EmployeeJsonWriter.write(generator, roster));
+
+            // The same JSON, but characters beyond the BMP stay raw UTF-8 where Jackson escapes them.
+            assertEquals(objectMapper.readTree(jackson(employees)), objectMapper.readTree(written), memory.name());
+            assertEquals(jackson(employees).replace("\\uD83D\\uDE80", "\ud83d\ude80"), written, memory.name());
+        }
+    }
+
+    // As the Jackson encoder writes it: to bytes, which escapes characters beyond the BMP, unlike a Writer.
+    private String jackson(Object value) throws IOException {
+        return new String(objectMapper.writeValueAsBytes(value), StandardCharsets.UTF_8);
+    }
+
+    private String write(Writing writing) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            writing.write(generator);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface Writing {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.export;
+
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RosterExportFormatTest {
+
+    // ariel and cordie as a columnar file; the mock server's RosterImporterTest reads the same bytes, change both together.
+    private static final String COLUMNAR_FILE = "454d504300000001000000029250abc9d7ef414b8c85168a91e0f8c8b328f15918414411803278c8be1ea19000000064"
+            + "8000000018ff000000120000000b417269656c202241726922204c61726b696e436f7264696520436f6c650000001100"
+            + "000009446576656c6f7065722c2053656e696f72446576656c6f7065720000000dffffffff6140636f6d70616e792e63"
+            + "6f6d00000000";
+
+    private final Employee ariel = new Employee("9250abc9-d7ef-414b-8c85-168a91e0f8c8", "Ariel \"Ari\" Larkin", 100, 24, "Developer, Senior", "a@company.com");
+
+    private final Employee cordie = new Employee("b328f159-1841-4411-8032-78c8be1ea190", "Cordie Cole", null, null, "Developer", null);
+
+    @Test
+    void testCsvQuotesOnlyWhereNeeded() throws IOException {
+        String csv = new String(export(RosterExportFormat.CSV, List.of(ariel, cordie)), StandardCharsets.UTF_8);
+
+        assertEquals("id,name,salary,age,title,email\r\n"
+                + "9250abc9-d7ef-414b-8c85-168a91e0f8c8,\"Ariel \"\"Ari\"\" Larkin\",100,24,\"Developer, Senior\",a@company.com\r\n"
+                + "b328f159-1841-4411-8032-78c8be1ea190,Cordie Cole,,,Developer,\r\n", csv);
+    }
+
+    @Test
+    void testColumnarCutsRowGroups() throws IOException {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < ColumnarRosterWriter.ROW_GROUP + 1; i++) {
+            roster.add(i == 0 ? ariel : cordie);
+        }
+        ByteBuffer file = ByteBuffer.wrap(export(RosterExportFormat.COLUMNAR, roster));
+
+        assertEquals(ColumnarRosterWriter.MAGIC, file.getInt());
+        assertEquals(ColumnarRosterWriter.VERSION, file.getInt());
+        assertEquals(ColumnarRosterWriter.ROW_GROUP, file.getInt());
+        assertEquals(UUID.fromString(ariel.getId()), new UUID(file.getLong(), file.getLong()));
+        assertEquals(0, file.getInt(file.limit() - 4));
+    }
+
+    @Test
+    void testColumnarLayoutMatchesTheImporterFixture() throws IOException {
+        assertEquals(COLUMNAR_FILE, HexFormat.of().formatHex(export(RosterExportFormat.COLUMNAR, List.of(ariel, cordie))));
+    }
+
+    @Test
+    void testEmployeesWithoutAValidIdAreLeftOut() throws IOException {
+        Employee noId = new Employee(null, "No Id", 1, 30, "Developer", "n@company.com");
+        Employee badId = new Employee("not-a-uuid", "Bad Id", 1, 30, "Developer", "b@company.com");
+        List<Employee> roster = new ArrayList<>(List.of(ariel, cordie));
+        roster.add(1, noId);
+        roster.add(2, badId);
+        roster.add(3, null);
+
+        for (RosterExportFormat format : RosterExportFormat.values()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            assertEquals(2, format.write(roster, Channels.newChannel(out)));
+            assertArrayEquals(export(format, List.of(ariel, cordie)), out.toByteArray());
+        }
+    }
+
+    private static byte[] export(RosterExportFormat format, List<Employee> employees) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        format.write(employees, Channels.newChannel(out));
+        return out.toByteArray();
+    }
+}
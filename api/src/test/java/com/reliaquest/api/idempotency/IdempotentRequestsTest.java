@@ -0,0 +1,95 @@
+package com.reliaquest.api.idempotency;
+
+import com.reliaquest.api.model.EmployeeInput;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotentRequestsTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    private final IdempotentRequests idempotentRequests = new IdempotentRequests(clock);
+
+    private final EmployeeInput input = new EmployeeInput("Sharvil Ghate", 100000, 26, "Software Developer");
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testReplaysTheFirstOutcome() {
+        assertEquals("created 1", execute("key", input).block());
+        assertEquals("created 1", execute("key", new EmployeeInput("Sharvil Ghate", 100000, 26, "Software Developer")).block());
+        assertEquals("created 2", execute("other", input).block());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testRejectsAKeyReusedForADifferentRequest() {
+        execute("key", input).block();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> execute("key", new EmployeeInput("Jill Jenkins", 139082, 48, "Financial Advisor")).block());
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testForgetsFailuresAndExpiredKeys() {
+        Mono<String> failure = idempotentRequests.execute("key", input, () -> Mono.error(new IllegalStateException("upstream down")));
+        assertThrows(IllegalStateException.class, failure::block);
+        assertEquals("created 1", execute("key", input).block());
+
+        clock.advance(Duration.ofMinutes(11));
+        assertEquals("created 2", execute("key", input).block());
+    }
+
+    @Test
+    void testEvictsTheOldestKeysBeyondTheLimit() {
+        ReflectionTestUtils.setField(idempotentRequests, "maxKeys", 2);
+        execute("first", input).block();
+        execute("second", input).block();
+        execute("third", input).block();
+
+        assertEquals("created 2", execute("second", input).block());
+        assertEquals("created 4", execute("first", input).block());
+    }
+
+    private Mono<String> execute(String key, EmployeeInput request) {
+        return idempotentRequests.execute(key, request, () -> Mono.fromCallable(() -> "created " + calls.incrementAndGet()));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
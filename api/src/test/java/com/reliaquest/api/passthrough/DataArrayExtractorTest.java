@@ -0,0 +1,66 @@
+package com.reliaquest.api.passthrough;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataArrayExtractorTest {
+
+    private static final String ROSTER = "[{\"id\":\"1\",\"employee_name\":\"Ariel \\\"data\\\": [Larkin]\",\"employee_salary\":100},"
+            + "{\"id\":\"2\",\"employee_name\":\"Cordie Cole\",\"employee_salary\":200}]";
+
+    @Test
+    void testForwardsOnlyTheDataArray() {
+        String body = "{\"status\":\"Successfully processed request.\",\"data\": " + ROSTER + ",\"nextCursor\":\"2\"}";
+
+        assertEquals(ROSTER, extract(body, body.length()));
+    }
+
+    @Test
+    void testFindsTheArrayAcrossAnyBufferBoundary() {
+        String body = "{ \"database\" : [1], \"data\" :\n" + ROSTER + " , \"status\" : \"{[\\\"data\\\"\" }";
+
+        for (int chunk = 1; chunk <= body.length(); chunk++) {
+            assertEquals(ROSTER, extract(body, chunk), "chunk size " + chunk);
+        }
+    }
+
+    @Test
+    void testNullDataBecomesAnEmptyRoster() {
+        assertEquals("[]", extract("{\"data\":null,\"status\":\"Successfully processed request.\"}", 7));
+    }
+
+    @Test
+    void testTruncatedArrayFails() {
+        Flux<DataBuffer> body = Flux.just(buffer("{\"data\":[{\"id\":\"1\""));
+
+        assertThrows(IllegalStateException.class, () -> DataArrayExtractor.extract(body).blockLast());
+    }
+
+    private static String extract(String body, int chunkSize) {
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int from = 0; from < body.length(); from += chunkSize) {
+            buffers.add(buffer(body.substring(from, Math.min(body.length(), from + chunkSize))));
+        }
+        return DataArrayExtractor.extract(Flux.fromIterable(buffers))
+                .map(buffer -> {
+                    String text = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return text;
+                })
+                .reduce("", String::concat)
+                .block();
+    }
+
+    private static DataBuffer buffer(String text) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UpstreamRetryPolicyTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testRetryAfterSecondsAndHttpDate() {
+        UpstreamRetryPolicy policy = policy(5, 10);
+
+        assertEquals(Duration.ofSeconds(42), policy.retryAfter(retryAfter("42")).orElseThrow());
+        String inOneMinute = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusMinutes(1));
+        Duration wait = policy.retryAfter(retryAfter(inOneMinute)).orElseThrow();
+        assertTrue(wait.compareTo(Duration.ofSeconds(50)) > 0 && wait.compareTo(Duration.ofSeconds(61)) <= 0);
+        assertTrue(policy.retryAfter(retryAfter("soon")).isEmpty());
+        assertTrue(policy.retryAfter(new HttpHeaders()).isEmpty());
+    }
+
+    @Test
+    void testHonorsRetryAfter() {
+        UpstreamRetryPolicy policy = policy(5, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> calls.incrementAndGet() < 3
+                ? Mono.error(throttled("0"))
+                : Mono.just("ok"));
+
+        assertEquals("ok", policy.withRetries(call, IllegalStateException::new).block());
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.find(UpstreamRetryPolicy.RETRIES_METRIC).tag("outcome", "retry_after")
+                .counters().stream().mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void testGivesUpWhenRetryAfterIsTooLong() {
+        UpstreamRetryPolicy policy = policy(5, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(throttled("90"));
+        });
+
+        assertThrows(IllegalStateException.class, () -> policy.withRetries(call, IllegalStateException::new).block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRetryBudgetIsSharedAcrossCalls() {
+        UpstreamRetryPolicy policy = policy(5, 2);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(throttled(null));
+        });
+
+        assertThrows(IllegalStateException.class, () -> policy.withRetries(call, IllegalStateException::new).block());
+        assertThrows(IllegalStateException.class, () -> policy.withRetries(call, IllegalStateException::new).block());
+        // Two retries in the budget: the first call spends both, the second one is not retried at all.
+        assertEquals(4, calls.get());
+        assertEquals(0, policy.availableBudget());
+    }
+
+    @Test
+    void testDoesNotRetryOtherFailures() {
+        UpstreamRetryPolicy policy = policy(5, 10);
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalArgumentException("bad request"));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> policy.withRetries(call, IllegalStateException::new).block());
+        assertEquals(1, calls.get());
+    }
+
+    private UpstreamRetryPolicy policy(int maxRetries, int budgetBurst) {
+        return new UpstreamRetryPolicy(maxRetries, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(20),
+                0.0, budgetBurst, meterRegistry);
+    }
+
+    private static HttpHeaders retryAfter(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, value);
+        return headers;
+    }
+
+    private static WebClientResponseException throttled(String retryAfter) {
+        HttpHeaders headers = retryAfter == null ? new HttpHeaders() : retryAfter(retryAfter);
+        return WebClientResponseException.create(429, "Too Many Requests", headers, new byte[0], null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cache.RosterSnapshot;
+import com.reliaquest.api.model.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameSearchIndexTest {
+
+    private final NameSearchIndex index = new NameSearchIndex();
+
+    private final Instant fetchedAt = Instant.now();
+
+    private final List<Employee> roster = new ArrayList<>(List.of(
+            employee("1", "Zo\u00eb O'Neil"),
+            employee("2", "Jon Smith"),
+            employee("3", "Jonathan Smithers"),
+            employee("4", "Joanna Jones"),
+            employee("5", "Jos\u00e9 \u00c1lvarez")));
+
+    @Test
+    void testPrefixesAreCaseAndAccentInsensitive() {
+        assertEquals(List.of("5"), ids(index.search(snapshot(), "JOSE alv", 10, false)));
+        assertEquals(List.of("1"), ids(index.search(snapshot(), "zoe o", 10, false)));
+    }
+
+    @Test
+    void testExactTokenRanksBeforeLongerCompletions() {
+        assertEquals(List.of("2", "4", "3"), ids(index.search(snapshot(), "jon", 10, false)));
+        assertEquals(List.of("2", "3"), ids(index.search(snapshot(), "jon smith", 10, false)));
+        assertEquals(List.of("2"), ids(index.search(snapshot(), "jon", 1, false)));
+    }
+
+    @Test
+    void testFuzzyMatchesTolerateTypos() {
+        assertTrue(index.search(snapshot(), "smyth", 10, false).isEmpty());
+        assertEquals(List.of("2"), ids(index.search(snapshot(), "smyth", 10, true)));
+        assertEquals(List.of("5"), ids(index.search(snapshot(), "alvares", 10, true)));
+    }
+
+    @Test
+    void testUpdatesAreAppliedIncrementally() {
+        assertEquals(List.of("2", "3"), ids(index.search(snapshot(), "smith", 10, false)));
+
+        Employee created = employee("6", "Anna Smith");
+        roster.add(created);
+        index.add(created);
+        roster.removeIf(employee -> employee.getId().equals("2"));
+        index.remove("2");
+
+        assertEquals(List.of("6", "3"), ids(index.search(snapshot(), "smith", 10, false)));
+    }
+
+    private RosterSnapshot snapshot() {
+        return new RosterSnapshot(1, fetchedAt, roster);
+    }
+
+    private static Employee employee(String id, String name) {
+        return new Employee(id, name, 100, 30, "Developer", id + "@company.com");
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+}
@@ -2,25 +2,34 @@ package com.reliaquest.api.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.reliaquest.api.exception.EmployeeCreationException;
 import com.reliaquest.api.exception.EmployeeDeletionException;
 import com.reliaquest.api.exception.EmployeeNotFoundException;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePage;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.retry.UpstreamRetryPolicy;
+import com.reliaquest.api.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okio.Buffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +50,9 @@ public class EmployeeServiceImplTest {
                 .baseUrl(mockWebServer.url("/").toString())
                 .build();
         employeeService = new EmployeeServiceImpl(webClient);
+        ReflectionTestUtils.setField(employeeService, "baseUrl", mockWebServer.url("/api/v1/employee").toString());
+        ReflectionTestUtils.setField(employeeService, "retryPolicy", new UpstreamRetryPolicy(5, Duration.ofMillis(10),
+                Duration.ofMillis(50), Duration.ofSeconds(20), 0.2, 10, new SimpleMeterRegistry()));
     }
 
     @AfterEach
@@ -75,11 +87,27 @@ public class EmployeeServiceImplTest {
 
     @Test
     void testGetAllEmployeesTooManyRequests() {
-        for(int i =0; i < 5; i++){
+        // The first try and five retries.
+        for(int i =0; i < 6; i++){
             mockWebServer.enqueue(new MockResponse().setResponseCode(429));
         }
 
         assertThrows(EmployeeServiceException.class, () -> employeeService.getAllEmployees());
+        assertEquals(6, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testGetAllEmployeesRetriesThrottleWithoutRetryAfter() throws JsonProcessingException {
+        Employee employee = new Employee("9250abc9-d7ef-414b-8c85-168a91e0f8c8", "Caroline Yundt V", 42711, 51, "Customer Government Developer", "teejay_thompson@company.com");
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(objectMapper.writeValueAsString(Map.of("data", List.of(employee), "status", "Successfully processed request.")))
+                .addHeader("Content-Type", "application/json"));
+
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(List.of(employee), employees);
+        assertEquals(2, mockWebServer.getRequestCount());
     }
 
     @Test
@@ -92,6 +120,55 @@ public class EmployeeServiceImplTest {
         assertThrows(EmployeeServiceException.class, () -> employeeService.getAllEmployees());
     }
 
+    @Test
+    void testRejectedRequestIsNotWrapped() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(400));
+
+        EmployeeNotFoundException exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.getEmployeesPage(1, null));
+
+        assertEquals("Error in getting employees, please try again after sometime", exception.getMessage());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void testGetEmployeesPageFromUpstream() throws InterruptedException {
+        String response = "{\"data\":[{\"id\":\"9250abc9-d7ef-414b-8c85-168a91e0f8c8\",\"employee_name\":\"Caroline Yundt V\",\"employee_salary\":42711,\"employee_age\":51,\"employee_title\":\"Customer Government Developer\",\"employee_email\":\"teejay_thompson@company.com\"}],\"status\":\"Successfully processed request.\",\"nextCursor\":\"9250abc9-d7ef-414b-8c85-168a91e0f8c8\"}";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(response)
+                .addHeader("Content-Type", "application/json"));
+
+        EmployeePage page = employeeService.getEmployeesPage(1, null);
+
+        assertEquals(1, page.getEmployees().size());
+        assertEquals("9250abc9-d7ef-414b-8c85-168a91e0f8c8", page.getNextCursor());
+        assertEquals("/api/v1/employee?limit=1", mockWebServer.takeRequest().getPath());
+    }
+
+    @Test
+    void testIdRangesCoverWholeIdSpace() {
+        List<EmployeeServiceImpl.IdRange> ranges = EmployeeServiceImpl.idRanges(4);
+
+        assertEquals(4, ranges.size());
+        assertNull(ranges.get(0).cursor());
+        assertEquals("3fffffff-ffff-ffff-0000-000000000000", ranges.get(0).until());
+        assertEquals(ranges.get(0).until(), ranges.get(1).cursor());
+        assertEquals(ranges.get(2).until(), ranges.get(3).cursor());
+        assertNull(ranges.get(3).until());
+    }
+
+    @Test
+    void testGetAllEmployeesSmileResponse() throws JsonProcessingException {
+        Employee employee = new Employee("9250abc9-d7ef-414b-8c85-168a91e0f8c8", "Caroline Yundt V", 42711, 51, "Customer Government Developer", "teejay_thompson@company.com");
+        byte[] body = new SmileMapper().writeValueAsBytes(Map.of("data", List.of(employee), "status", "Successfully processed request."));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(new Buffer().write(body))
+                .addHeader("Content-Type", "application/x-jackson-smile"));
+
+        List<Employee> employees = employeeService.getAllEmployees();
+
+        assertEquals(List.of(employee), employees);
+    }
+
     @Test
     void testGetEmployeeByNameSearchSuccess() {
         String employeeName = "Sharvil";
@@ -148,21 +225,66 @@ public class EmployeeServiceImplTest {
     }
 
     @Test
-    void testCreateEmployeeSuccess() {
-        EmployeeInput employeeInput = new EmployeeInput("Sharvil Ghate", 100000, 26, "Software Developer");
+    void testTop10LeavesOutEmployeesWithoutASalary() {
+        String response = "{\"data\":[{\"id\":\"9250abc9-d7ef-414b-8c85-168a91e0f8c8\",\"employee_name\":\"Caroline Yundt V\",\"employee_salary\":42711},{\"id\":\"b328f159-1841-4411-8032-78c8be1ea190\",\"employee_name\":\"Ariel Larkin\"},{\"id\":\"62272440-1381-45e5-9ebd-52edbb7357dc\",\"employee_name\":\"Cordie Cole\",\"employee_salary\":459227},{\"id\":\"ab2d1a0b-57b0-4bed-bbc8-c8ac4808f55d\",\"employee_name\":\"Delbert Olson\",\"employee_salary\":null}],\"status\":\"Successfully processed request.\"}";
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(response)
+                .addHeader("Content-Type", "application/json"));
+
+        List<Employee> topEarners = employeeService.getTop10HighestEarningEmployeeNames();
 
-        String employeeResponseString = "{\"data\":[{\"id\":\"cdf4bf72-7219-4b4f-86fc-d36915a7a20c\",\"employee_name\":\"Sharvil Ghate\",\"employee_salary\":100000,\"employee_age\":26,\"employee_title\":\"Software Developer\",\"employee_email\":\"testemail@email.com\"},{\"id\":\"b328f159-1841-4411-8032-78c8be1ea190\",\"employee_name\":\"Sharvil G\",\"employee_salary\":244740,\"employee_age\":46,\"employee_title\":\"Construction Officer\",\"employee_email\":\"domainer@company.com\"},{\"id\":\"3d6728bc-0a0a-490b-8739-c6ff4ad33072\",\"employee_name\":\"S Ghate\",\"employee_salary\":347496,\"employee_age\":18,\"employee_title\":\"Administration Coordinator\",\"employee_email\":\"northernlightz@company.com\"},{\"id\":\"62272440-1381-45e5-9ebd-52edbb7357dc\",\"employee_name\":\"Cordie Cole\",\"employee_salary\":459227,\"employee_age\":69,\"employee_title\":\"Future Designer\",\"employee_email\":\"solarbreeze@company.com\"},{\"id\":\"ab2d1a0b-57b0-4bed-bbc8-c8ac4808f55d\",\"employee_name\":\"Delbert Olson\",\"employee_salary\":184973,\"employee_age\":29,\"employee_title\":\"Government Producer\",\"employee_email\":\"fat_kyle@company.com\"},{\"id\":\"b7cf341e-4b1b-4b53-abe4-0c2a2ed502ec\",\"employee_name\":\"Cory Rice\",\"employee_salary\":317790,\"employee_age\":50,\"employee_title\":\"Forward Design Architect\",\"employee_email\":\"fintone@company.com\"},{\"id\":\"fd9f73e1-f3bb-4ced-ae4a-d5793078bb23\",\"employee_name\":\"Enoch Thiel\",\"employee_salary\":76845,\"employee_age\":45,\"employee_title\":\"Government Director\",\"employee_email\":\"andalax@company.com\"},{\"id\":\"514d3589-500a-41de-946f-bb6d77d06dab\",\"employee_name\":\"Ezequiel Pfannerstill\",\"employee_salary\":172488,\"employee_age\":66,\"employee_title\":\"Human Coordinator\",\"employee_email\":\"northernlightz@company.com\"},{\"id\":\"f150bd7d-bb5f-4293-b926-68d1d0de1869\",\"employee_name\":\"Phil Beier\",\"employee_salary\":275169,\"employee_age\":54,\"employee_title\":\"Internal Mining Analyst\",\"employee_email\":\"imdahdude@company.com\"},{\"id\":\"d1864937-d414-4b16-9f30-5bbb51525f90\",\"employee_name\":\"Shizue Ferry\",\"employee_salary\":394944,\"employee_age\":33,\"employee_title\":\"Chief Legal Designer\",\"employee_email\":\"opela@company.com\"}],\"status\":\"Successfully processed request.\"}";
-//        Employee employeeResponse = new Employee("cdf4bf72-7219-4b4f-86fc-d36915a7a20c", "Sharvil Ghate", 100000, 26, "Software Developer", "testemail@email.com");
+        assertEquals(List.of("Cordie Cole", "Caroline Yundt V"), topEarners.stream().map(Employee::getName).toList());
+    }
+
+    @Test
+    void testHighestSalaryIsPushedDownWithoutFreshCache() throws InterruptedException {
+        String response = "{\"data\":[{\"id\":\"62272440-1381-45e5-9ebd-52edbb7357dc\",\"employee_salary\":459227}],\"status\":\"Successfully processed request.\"}";
         mockWebServer.enqueue(new MockResponse()
-                .setResponseCode(HttpStatus.CREATED.value()));
+                .setBody(response)
+                .addHeader("Content-Type", "application/json"));
+
+        int highestSalary = employeeService.getHighestSalaryOfEmployees();
+
+        assertEquals(459227, highestSalary);
+        assertEquals("/api/v1/employee?sort=salary:desc&limit=1&fields=salary", mockWebServer.takeRequest().getPath());
+    }
+
+    @Test
+    void testTop10IsMergedAcrossShards() throws IOException, InterruptedException {
+        String firstShard = "{\"data\":[{\"id\":\"62272440-1381-45e5-9ebd-52edbb7357dc\",\"employee_name\":\"Cordie Cole\",\"employee_salary\":459227},{\"id\":\"b7cf341e-4b1b-4b53-abe4-0c2a2ed502ec\",\"employee_name\":\"Cory Rice\",\"employee_salary\":317790}],\"status\":\"Successfully processed request.\"}";
+        String secondShard = "{\"data\":[{\"id\":\"d1864937-d414-4b16-9f30-5bbb51525f90\",\"employee_name\":\"Shizue Ferry\",\"employee_salary\":394944},{\"id\":\"9250abc9-d7ef-414b-8c85-168a91e0f8c8\",\"employee_name\":\"Caroline Yundt V\",\"employee_salary\":42711}],\"status\":\"Successfully processed request.\"}";
+        MockWebServer secondServer = new MockWebServer();
+        try {
+            mockWebServer.enqueue(new MockResponse().setBody(firstShard).addHeader("Content-Type", "application/json"));
+            secondServer.enqueue(new MockResponse().setBody(secondShard).addHeader("Content-Type", "application/json"));
+            ReflectionTestUtils.setField(employeeService, "shardRouter", new ShardRouter(List.of(
+                    mockWebServer.url("/api/v1/employee").toString(), secondServer.url("/api/v1/employee").toString()), 128));
+
+            List<Employee> topEarners = employeeService.getTop10HighestEarningEmployeeNames();
+
+            assertEquals(List.of("Cordie Cole", "Shizue Ferry", "Cory Rice", "Caroline Yundt V"),
+                    topEarners.stream().map(Employee::getName).toList());
+            assertEquals("/api/v1/employee?sort=salary:desc&limit=10", secondServer.takeRequest().getPath());
+        } finally {
+            secondServer.shutdown();
+        }
+    }
+
+    @Test
+    void testCreateEmployeeSuccess() {
+        EmployeeInput employeeInput = new EmployeeInput("Sharvil Ghate", 100000, 26, "Software Developer");
 
+        String employeeResponseString = "{\"data\":{\"id\":\"cdf4bf72-7219-4b4f-86fc-d36915a7a20c\",\"employee_name\":\"Sharvil Ghate\",\"employee_salary\":100000,\"employee_age\":26,\"employee_title\":\"Software Developer\",\"employee_email\":\"testemail@email.com\"},\"status\":\"Successfully processed request.\"}";
         mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(HttpStatus.CREATED.value())
                 .setBody(employeeResponseString)
                 .setHeader("Content-Type", "application/json"));
 
         Employee employee = employeeService.createEmployee(employeeInput);
         assertEquals(employee.getId(), "cdf4bf72-7219-4b4f-86fc-d36915a7a20c");
         assertEquals(employee.getEmail(), "testemail@email.com");
+        // The employee comes from the create response, without looking it up by name.
+        assertEquals(1, mockWebServer.getRequestCount());
     }
 
     @Test
@@ -177,7 +299,7 @@ public class EmployeeServiceImplTest {
             employeeService.createEmployee(employeeInput);
         });
 
-        assertTrue(exception.getMessage().contains("create employee : Service Unavailable"));
+        assertEquals("Service Unavailable : 429 Too Many Requests", exception.getMessage());
     }
 
     @Test
@@ -218,7 +340,9 @@ public class EmployeeServiceImplTest {
             employeeService.deleteEmployeeById(id);
         });
 
-        assertTrue(exception.getMessage().contains("delete employee by name : Error in getting employees, please try again after sometime"));
+        // The lookup before the delete is throttled: the first try and five retries.
+        assertEquals("Service Unavailable : 429 Too Many Requests", exception.getMessage());
+        assertEquals(6, mockWebServer.getRequestCount());
     }
 
     @Test
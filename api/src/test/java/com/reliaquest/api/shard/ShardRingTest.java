@@ -0,0 +1,79 @@
+package com.reliaquest.api.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardRingTest {
+
+    @Test
+    void testOwnersMatchTheMockServerRing() {
+        // Owners as computed by the mock server's EmployeeShard for 3 shards and 128 virtual nodes.
+        ShardRing ring = new ShardRing(3, 128);
+
+        assertEquals(1, ring.ownerOf(UUID.fromString("9250abc9-d7ef-414b-8c85-168a91e0f8c8")));
+        assertEquals(2, ring.ownerOf(UUID.fromString("b328f159-1841-4411-8032-78c8be1ea190")));
+        assertEquals(0, ring.ownerOf(UUID.fromString("3d6728bc-0a0a-490b-8739-c6ff4ad33072")));
+        assertEquals(2, ring.ownerOf(UUID.fromString("62272440-1381-45e5-9ebd-52edbb7357dc")));
+    }
+
+    @Test
+    void testRouterSendsIdsToTheirOwner() {
+        ShardRouter router = new ShardRouter(List.of("http://a", "http://b", "http://c"), 128);
+
+        assertEquals("http://b", router.urlFor("9250abc9-d7ef-414b-8c85-168a91e0f8c8"));
+        assertEquals("http://a", router.urlFor("3d6728bc-0a0a-490b-8739-c6ff4ad33072"));
+        assertEquals("http://a", router.urlFor("not-a-uuid"));
+    }
+
+    @Test
+    void testKWayMergeKeepsOrderAndStopsAtLimit() {
+        List<List<Integer>> parts = List.of(List.of(9, 5, 1), List.of(8, 7), List.of(), List.of(6, 2));
+
+        assertEquals(List.of(9, 8, 7, 6, 5, 2, 1), KWayMerge.merge(parts, Comparator.reverseOrder(), Integer.MAX_VALUE));
+        assertEquals(List.of(9, 8, 7), KWayMerge.merge(parts, Comparator.reverseOrder(), 3));
+    }
+
+    @Test
+    void testKWayMergeKeepsDuplicatesAndBreaksTiesByPart() {
+        // Ordered by the number only; the letter tells which part an element came from.
+        List<List<String>> parts = List.of(List.of("1a", "3a", "3a"), List.of("1b", "2b", "3b"), List.of("3c"));
+        Comparator<String> byNumber = Comparator.comparing(value -> value.charAt(0));
+
+        assertEquals(List.of("1a", "1b", "2b", "3a", "3a", "3b", "3c"), KWayMerge.merge(parts, byNumber, Integer.MAX_VALUE));
+        assertEquals(List.of("1a", "1b", "2b", "3a"), KWayMerge.merge(parts, byNumber, 4));
+        assertEquals(List.of(), KWayMerge.merge(List.<List<String>>of(), byNumber, 4));
+    }
+
+    @Test
+    void testVirtualNodesSpreadIdsEvenly() {
+        int ids = 60_000;
+        for (int shards : new int[]{3, 4}) {
+            ShardRing ring = new ShardRing(shards, 128);
+            int[] counts = new int[shards];
+            SplittableRandom random = new SplittableRandom(7);
+            for (int i = 0; i < ids; i++) {
+                counts[ring.ownerOf(new UUID(random.nextLong(), random.nextLong()))]++;
+            }
+            int fair = ids / shards;
+            for (int shard = 0; shard < shards; shard++) {
+                assertTrue(Math.abs(counts[shard] - fair) < fair * 0.15, "shard " + shard + " of " + shards + " holds " + counts[shard] + " ids");
+            }
+        }
+    }
+
+    @Test
+    void testSingleShardRingOwnsEverything() {
+        ShardRing ring = new ShardRing(1, 128);
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, ring.ownerOf(new UUID(random.nextLong(), random.nextLong())));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.reliaquest.api.stream;
+
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.IEmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class RosterChangeStreamTest {
+
+    private final EmployeeRosterCache rosterCache = new EmployeeRosterCache();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RosterChangeStream stream = new RosterChangeStream(rosterCache, mock(IEmployeeService.class), meterRegistry,
+            Duration.ofHours(1), 4);
+
+    private final List<ServerSentEvent<Object>> received = new CopyOnWriteArrayList<>();
+
+    private Disposable subscription;
+
+    @AfterEach
+    void tearDown() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    void testPushesTopEarnersOnlyWhenTheyChange() throws InterruptedException {
+        rosterCache.replace(IntStream.rangeClosed(1, 12).mapToObj(i -> employee(String.valueOf(i), i * 1000)).toList());
+        subscription = stream.events().subscribe(received::add);
+
+        awaitEvents("highest-salary", 1);
+        assertEquals(12000, data("highest-salary", 0));
+        assertEquals(12000, ((Employee) ((List<?>) data("top10", 0)).get(0)).getSalary());
+
+        // Below the top 10: a change event, no new summary.
+        rosterCache.add(employee("low", 500));
+        rosterCache.add(employee("high", 50000));
+        awaitEvents("highest-salary", 2);
+        assertEquals(50000, data("highest-salary", 1));
+        assertEquals(List.of("created", "created"), names("created"));
+        assertEquals(2, names("top10").size());
+
+        rosterCache.remove("high");
+        awaitEvents("highest-salary", 3);
+        assertEquals(12000, data("highest-salary", 2));
+        assertEquals("high", data("deleted", 0));
+    }
+
+    @Test
+    void testSlowSubscriberLosesTheOldestEvents() {
+        BaseSubscriber<ServerSentEvent<Object>> slow = new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+            }
+
+            @Override
+            protected void hookOnNext(ServerSentEvent<Object> event) {
+                received.add(event);
+            }
+        };
+        stream.events().subscribe(slow);
+        subscription = slow;
+
+        for (int i = 0; i < 10; i++) {
+            rosterCache.remove(String.valueOf(i));
+        }
+        slow.request(Long.MAX_VALUE);
+
+        assertEquals(List.of("6", "7", "8", "9"), received.stream().map(ServerSentEvent::data).toList());
+        assertEquals(6, meterRegistry.counter(RosterChangeStream.DROPPED_METRIC).count());
+    }
+
+    private void awaitEvents(String name, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (names(name).size() < count) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + count + " " + name + " events");
+            Thread.sleep(10);
+        }
+    }
+
+    private List<String> names(String name) {
+        return received.stream().map(ServerSentEvent::event).filter(name::equals).toList();
+    }
+
+    private Object data(String name, int index) {
+        return received.stream().filter(event -> name.equals(event.event())).toList().get(index).data();
+    }
+
+    private static Employee employee(String id, int salary) {
+        return new Employee(id, "Employee " + id, salary, 30, "Developer", id + "@company.com");
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.analytics.RosterAnalyticsCalculator;
+import com.reliaquest.api.cache.EmployeeRosterCache;
+import com.reliaquest.api.cache.RosterPageIndex;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.search.NameSearchIndex;
+import com.reliaquest.api.service.IEmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.AvailabilityState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(OutputCaptureExtension.class)
+public class StartupWarmupTest {
+
+    private final IEmployeeService employeeService = mock(IEmployeeService.class);
+
+    private final EmployeeRosterCache rosterCache = new EmployeeRosterCache();
+
+    // Readiness states in the order the warm-up published them.
+    private final List<AvailabilityState> states = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch hang = new CountDownLatch(1);
+
+    private final StartupWarmup warmup = new StartupWarmup(employeeService, rosterCache, new RosterPageIndex(),
+            new NameSearchIndex(), new RosterAnalyticsCalculator(), new ObjectMapper(),
+            event -> states.add(((AvailabilityChangeEvent<?>) event).getState()));
+
+    private final List<Employee> roster = List.of(
+            new Employee("9250abc9-d7ef-414b-8c85-168a91e0f8c8", "Ariel Larkin", 100, 24, "Developer", "a@company.com"),
+            new Employee("b328f159-1841-4411-8032-78c8be1ea190", "Cordie Cole", null, null, "Developer", null));
+
+    @AfterEach
+    void tearDown() {
+        hang.countDown();
+    }
+
+    @Test
+    void testRefusesTrafficWhileWarmingUp() throws Exception {
+        List<AvailabilityState> whileLoading = new CopyOnWriteArrayList<>();
+        when(employeeService.getAllEmployees()).thenAnswer(invocation -> {
+            whileLoading.addAll(states);
+            rosterCache.replace(roster);
+            return roster;
+        });
+
+        warmup(2, Duration.ofSeconds(30)).warmUp();
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC), whileLoading);
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+        assertEquals(roster, rosterCache.current().orElseThrow().employees());
+    }
+
+    @Test
+    void testAcceptsTrafficWhenTheUpstreamFails(CapturedOutput output) throws Exception {
+        when(employeeService.getAllEmployees()).thenThrow(new EmployeeServiceException("Error in getting employees"));
+
+        warmup(2, Duration.ofSeconds(30)).warmUp();
+
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+        assertTrue(output.getOut().contains("Warm-up did not complete, accepting traffic anyway"), output.getOut());
+        assertTrue(output.getOut().contains("Error in getting employees"), output.getOut());
+    }
+
+    @Test
+    void testTimeoutCutsOffAHangingWarmUp(CapturedOutput output) throws Exception {
+        when(employeeService.getAllEmployees()).thenAnswer(invocation -> {
+            hang.await(30, TimeUnit.SECONDS);
+            return roster;
+        });
+
+        long started = System.nanoTime();
+        warmup(2, Duration.ofMillis(200)).warmUp();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(10)) < 0);
+        assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC), states);
+        assertTrue(output.getOut().contains("Warm-up did not complete, accepting traffic anyway"), output.getOut());
+        assertTrue(output.getOut().contains("TimeoutException"), output.getOut());
+    }
+
+    private StartupWarmup warmup(int iterations, Duration timeout) {
+        ReflectionTestUtils.setField(warmup, "iterations", iterations);
+        ReflectionTestUtils.setField(warmup, "timeout", timeout);
+        return warmup;
+    }
+}
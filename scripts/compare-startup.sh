@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Compares startup time, resident memory, used heap and loaded classes of one module (api or server) as a plain JVM, with a class data sharing
+# archive and, when one was built with ./gradlew -Pnative <module>:nativeCompile, as a native image. Each variant is
+# started RUNS times on a random port and stopped once it logs "Started ... in", e.g.
+#   scripts/compare-startup.sh api
+# Extra arguments are passed to the build, e.g. -PnoOpenApi to measure the api without Swagger UI.
+set -euo pipefail
+
+MODULE=${1:-api}
+shift || true
+RUNS=${RUNS:-3}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+BUILD="$ROOT/$MODULE/build"
+LOG_DIR=${LOG_DIR:-"$BUILD/startup"}
+
+"$ROOT/gradlew" -q -p "$ROOT" "$@" "$MODULE:bootJar" "$MODULE:cdsArchive"
+JAR=$(ls "$BUILD"/libs/*.jar | grep -v -- '-plain' | head -1)
+MAIN=$(unzip -p "$JAR" META-INF/MANIFEST.MF | sed -n 's/^Start-Class: *//p' | tr -d '\r')
+NATIVE=$(ls "$BUILD"/native/nativeCompile/* 2>/dev/null | grep -v '\.' | head -1 || true)
+mkdir -p "$LOG_DIR"
+
+# Starts the given command, waits for the startup line and prints "<milliseconds> <rss kB> <heap kB> <classes>".
+# Heap and classes come from the JVM's performance counters and are 0 for a native image.
+measure() {
+  local log="$LOG_DIR/$1.log"
+  shift
+  local start
+  start=$(date +%s%N)
+  "$@" --server.port=0 > "$log" 2>&1 &
+  local pid=$!
+  until grep -q 'Started .* in' "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "failed, see $log" >&2
+      return 1
+    fi
+    sleep 0.05
+  done
+  local elapsed=$((($(date +%s%N) - start) / 1000000))
+  local rss
+  rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+  local heap=0 classes=0
+  if jstat -gc "$pid" > "$log.gc" 2>/dev/null; then
+    # Sum of the used columns of every heap space (S0U S1U EU OU), metaspace excluded.
+    heap=$(awk 'NR == 1 { for (i = 1; i <= NF; i++) used[i] = $i ~ /^(S0|S1|E|O)U$/ }
+                NR == 2 { for (i in used) if (used[i]) sum += $i; printf "%d", sum }' "$log.gc")
+    classes=$(jstat -class "$pid" | awk 'NR == 2 { print $1 }')
+  fi
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed $rss $heap $classes"
+}
+
+report() {
+  local name=$1
+  shift
+  local total_ms=0 total_rss=0 total_heap=0 total_classes=0
+  for ((i = 0; i < RUNS; i++)); do
+    read -r ms rss heap classes < <(measure "$name-$i" "$@")
+    total_ms=$((total_ms + ms))
+    total_rss=$((total_rss + rss))
+    total_heap=$((total_heap + heap))
+    total_classes=$((total_classes + classes))
+  done
+  printf '%-8s %10d %10d %10d %10d\n' "$name" $((total_ms / RUNS)) $((total_rss / RUNS / 1024)) \
+    $((total_heap / RUNS / 1024)) $((total_classes / RUNS))
+}
+
+printf '%-8s %10s %10s %10s %10s\n' variant 'start ms' 'rss MB' 'heap MB' classes
+report jvm java -jar "$JAR"
+report cds java -XX:SharedArchiveFile="$BUILD/cds/app.jsa" -cp "$(cat "$BUILD/cds/classpath")" "$MAIN"
+if [[ -n "$NATIVE" ]]; then
+  report native "$NATIVE"
+else
+  echo "native   (not built, run ./gradlew -Pnative $MODULE:nativeCompile with a GraalVM JDK)"
+fi
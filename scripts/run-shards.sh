@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Starts the mock employee API as N local shard processes on consecutive ports and prints the api setting that
+# routes to them. Extra arguments are passed to every shard, e.g.
+#   scripts/run-shards.sh 3 --mock.employees.max=100000 --mock.employees.fast-seeding=true
+set -euo pipefail
+
+SHARDS=${1:-3}
+shift || true
+BASE_PORT=${BASE_PORT:-8112}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+LOG_DIR=${LOG_DIR:-"$ROOT/build/shards"}
+
+"$ROOT/gradlew" -q -p "$ROOT" server:bootJar
+JAR=$(ls "$ROOT"/server/build/libs/*.jar | grep -v -- '-plain' | head -1)
+mkdir -p "$LOG_DIR"
+
+pids=()
+urls=()
+trap 'kill "${pids[@]}" 2>/dev/null || true' EXIT INT TERM
+for ((i = 0; i < SHARDS; i++)); do
+  port=$((BASE_PORT + i))
+  java -jar "$JAR" \
+    --server.port="$port" \
+    --mock.shard.index="$i" \
+    --mock.shard.count="$SHARDS" \
+    "$@" > "$LOG_DIR/shard-$i.log" 2>&1 &
+  pids+=($!)
+  urls+=("http://localhost:$port/api/v1/employee")
+done
+
+echo "Started $SHARDS shards, logs in $LOG_DIR. Run the api against them with:"
+echo "  ./gradlew api:bootRun --args='--employee.api.shards=$(IFS=,; echo "${urls[*]}")'"
+wait
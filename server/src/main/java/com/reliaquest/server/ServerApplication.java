@@ -1,9 +1,12 @@
 package com.reliaquest.server;
 
+import com.reliaquest.server.config.ServerRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(ServerRuntimeHints.class)
 public class ServerApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,48 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.EmployeeShard;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Bulk roster generation for large seeds. The roster is cut into fixed-size chunks that are generated in parallel,
+ * each by its own {@link Faker} seeded from the roster seed and the chunk number. Chunk boundaries do not depend on
+ * the number of threads, so the same seed always yields the same roster (ids included). Ids are drawn from the
+ * chunk's generator and restricted to the given shard.
+ */
+final class RosterGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private static final long CHUNK_SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private RosterGenerator() {}
+
+    static List<MockEmployee> generate(int count, long seed, Locale locale, EmployeeShard shard) {
+        final var roster = new MockEmployee[Math.max(0, count)];
+        final var chunks = (roster.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            final var random = new Random(seed + chunk * CHUNK_SEED_STRIDE);
+            final var faker = new Faker(locale, random);
+            final var to = Math.min(roster.length, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < to; i++) {
+                roster[i] = MockEmployee.builder()
+                        .id(shard.newId(random))
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()))
+                        .build();
+            }
+        });
+        return new ArrayList<>(Arrays.asList(roster));
+    }
+}
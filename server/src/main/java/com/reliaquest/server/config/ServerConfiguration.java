@@ -1,13 +1,23 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.EmployeeShard;
+import com.reliaquest.server.store.FileRosterStore;
+import com.reliaquest.server.store.RosterImporter;
+import com.reliaquest.server.store.RosterStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
@@ -16,28 +26,106 @@ import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RandomRequestLimitInterceptor requestLimitInterceptor;
+
+    /*
+     * mock.shard.count instances each own a consistent-hash slice of the employee ids (see EmployeeShard);
+     * the default single instance owns all of them.
+     */
+    @Bean
+    public EmployeeShard employeeShard(
+            @Value("${mock.shard.index:0}") int index,
+            @Value("${mock.shard.count:1}") int count,
+            @Value("${mock.shard.virtual-nodes:128}") int virtualNodes) {
+        if (count <= 1) {
+            return EmployeeShard.single();
+        }
+        log.info("Serving shard {} of {}", index, count);
+        return EmployeeShard.of(index, count, virtualNodes);
+    }
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Without mock.store.path the roster lives in memory only and is regenerated on every start.
+     */
+    @Bean(destroyMethod = "close")
+    public RosterStore rosterStore(
+            @Value("${mock.store.path:}") String path,
+            @Value("${mock.store.group-commit-window:0ms}") Duration groupCommitWindow)
+            throws IOException {
+        if (path.isBlank()) {
+            return RosterStore.none();
+        }
+        return FileRosterStore.open(Path.of(path), groupCommitWindow);
+    }
+
+    /*
+     * The initial roster; MockEmployeeService copies it into its index and keeps it up to date there.
+     * Fast seeding generates large rosters in parallel and reproducibly for mock.employees.seed (random if unset).
+     * mock.employees.import seeds from a roster exported by the api instead, keeping the ids this shard owns.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker,
+            EmployeeShard employeeShard,
+            RosterStore rosterStore,
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.fast-seeding:false}") boolean fastSeeding,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.import:}") String importPath)
+            throws IOException {
+        final var persisted = rosterStore.load();
+        if (!persisted.isEmpty()) {
+            log.info("Loaded {} employees from the roster store", persisted.size());
+            return new ArrayList<>(persisted);
+        }
+
+        if (!importPath.isBlank()) {
+            final var started = System.nanoTime();
+            final var imported = RosterImporter.read(Path.of(importPath)).stream()
+                    .filter(employee -> employeeShard.owns(employee.getId()))
+                    .collect(Collectors.toCollection(ArrayList::new));
+            log.info(
+                    "Imported {} employees from {} in {} ms",
+                    imported.size(),
+                    importPath,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            rosterStore.replaceAll(imported);
+            return imported;
+        }
+
+        if (fastSeeding) {
+            final var rosterSeed = seed != null ? seed : new Random().nextLong();
+            final var started = System.nanoTime();
+            final var mockEmployees = RosterGenerator.generate(maxEmployees, rosterSeed, Locale.getDefault(), employeeShard);
+            log.info(
+                    "Generated {} employees with seed {} in {} ms",
+                    mockEmployees.size(),
+                    rosterSeed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            rosterStore.replaceAll(mockEmployees);
+            return mockEmployees;
+        }
+
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", () -> employeeShard.newId()),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -46,14 +134,26 @@ public class ServerConfiguration implements WebMvcConfigurer {
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
                                 faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
+        final var mockEmployees = IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
+        rosterStore.replaceAll(mockEmployees);
+        return mockEmployees;
+    }
+
+    /*
+     * Lets clients negotiate Smile (Accept: application/x-jackson-smile) instead of JSON. Built from Boot's
+     * Jackson builder so it shares the JSON mapper's settings; property names come from the model annotations.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.factory(new SmileFactory()).build());
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(requestLimitInterceptor);
     }
 }
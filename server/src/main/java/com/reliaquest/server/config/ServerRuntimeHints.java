@@ -0,0 +1,53 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import net.datafaker.Faker;
+import net.datafaker.providers.base.Job;
+import net.datafaker.providers.base.Name;
+import net.datafaker.providers.base.Number;
+import net.datafaker.providers.base.Twitter;
+import net.datafaker.transformations.JavaObjectTransformer;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * Reflection and resource hints for a native image (see -Pnative in the build). Jackson reaches the Lombok models
+ * and the (package-private) naming strategy reflectively; Datafaker resolves its providers by reflection and reads
+ * its locale data from yml resources; JavaObjectTransformer sets MockEmployee fields reflectively.
+ */
+public class ServerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar()
+                .registerReflectionHints(
+                        hints.reflection(),
+                        MockEmployee.class,
+                        CreateMockEmployeeInput.class,
+                        DeleteMockEmployeeInput.class,
+                        EmployeePage.class,
+                        EmployeeQuery.class,
+                        Response.class);
+        hints.reflection()
+                .registerType(
+                        TypeReference.of(MockEmployee.class.getName() + "$PrefixNamingStrategy"),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS)
+                .registerType(MockEmployee.class, MemberCategory.DECLARED_FIELDS)
+                .registerType(JavaObjectTransformer.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        for (final var provider : new Class<?>[] {Faker.class, Name.class, Number.class, Job.class, Twitter.class}) {
+            hints.reflection()
+                    .registerType(
+                            provider, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("*.yml").registerPattern("*/*.yml");
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.server.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/*
+ * With the otlp-file profile, sampled spans are written as OTLP JSON lines to mock.tracing.file (see
+ * logback-spring.xml), next to the api's, so a trace can be followed across the hop.
+ */
+@Configuration
+@Profile("otlp-file")
+public class TracingConfiguration {
+
+    @Bean
+    public SpanExporter otlpJsonFileSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
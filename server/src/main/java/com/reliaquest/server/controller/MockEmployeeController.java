@@ -2,11 +2,15 @@ package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeProjection;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.web.IdempotentRequests;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -16,7 +20,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,11 +30,45 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
 
+    private final IdempotentRequests idempotentRequests;
+
+    private final ObservationRegistry observationRegistry;
+
+    /*
+     * Without parameters the whole roster is returned, as before. Filter, sort or fields parameters run an
+     * indexed query (see EmployeeQuery), honouring limit. Otherwise limit, cursor and until return one page in
+     * id order plus a nextCursor to pass back as cursor; until bounds the range so clients can fetch disjoint
+     * id ranges concurrently.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public Response<?> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) UUID cursor,
+            @RequestParam(name = "until", required = false) UUID until,
+            EmployeeQuery query) {
+        if (query.isPresent()) {
+            final var employees = Observation.createNotStarted("mock.employee.query", observationRegistry)
+                    .lowCardinalityKeyValue("sorted", Boolean.toString(query.getSort() != null))
+                    .observe(() -> mockEmployeeService.query(query));
+            if (query.getFields() == null) {
+                return Response.handledWith(employees);
+            }
+            final var fields = MockEmployeeProjection.parseFields(query.getFields());
+            return Response.handledWith(employees.stream()
+                    .map(employee -> MockEmployeeProjection.project(employee, fields))
+                    .toList());
+        }
+        if (limit == null && cursor == null && until == null) {
+            return Response.handledWith(mockEmployeeService.getMockEmployees());
+        }
+        final var pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, limit == null ? DEFAULT_PAGE_SIZE : limit));
+        final var page = mockEmployeeService.page(cursor, until, pageSize);
+        return Response.handledWith(page.employees(), page.nextCursor());
     }
 
     @GetMapping("/{id}")
@@ -39,9 +79,19 @@ public class MockEmployeeController {
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /*
+     * A create repeated with the same Idempotency-Key (a client retrying after a timeout, say) gets the employee
+     * created the first time, see IdempotentRequests.
+     */
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public Response<MockEmployee> createEmployee(
+            @RequestHeader(name = IdempotentRequests.IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateMockEmployeeInput input) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return Response.handledWith(mockEmployeeService.create(input));
+        }
+        return idempotentRequests.execute(
+                idempotencyKey, input, () -> Response.handledWith(mockEmployeeService.create(input)));
     }
 
     @DeleteMapping()
@@ -1,8 +1,11 @@
 package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.Response;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -10,9 +13,27 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    /* Exception types whose stack trace has been logged once already; repeats are logged as a single line. */
+    private final Set<Class<?>> logged = ConcurrentHashMap.newKeySet();
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    protected ResponseEntity<?> handleIllegalArgument(IllegalArgumentException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
-        log.error("Error handling web request.", ex);
+        /* Spring's own client errors (bad body, missing parameter, wrong method) keep their status. */
+        if (ex instanceof ErrorResponse error && error.getStatusCode().is4xxClientError()) {
+            log.debug("Rejected web request: {}", ex.getMessage());
+            return ResponseEntity.status(error.getStatusCode()).body(Response.error(ex.getMessage()));
+        }
+        if (logged.add(ex.getClass())) {
+            log.error("Error handling web request.", ex);
+        } else {
+            log.error("Error handling web request: {}", ex.toString());
+        }
         return ResponseEntity.internalServerError().body(Response.error(ex.getMessage()));
     }
 }
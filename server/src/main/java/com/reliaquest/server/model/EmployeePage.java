@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of employees in id order. {@code nextCursor} is the id of the last employee in the page, or
+ * {@code null} once the requested range is exhausted.
+ */
+public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
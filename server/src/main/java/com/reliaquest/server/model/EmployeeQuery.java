@@ -0,0 +1,65 @@
+package com.reliaquest.server.model;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+import lombok.Data;
+
+/*
+ * Filters, sort and projection for GET /api/v1/employee, bound from query parameters.
+ */
+@Data
+public class EmployeeQuery {
+
+    private String nameContains;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private String title;
+    private String sort;
+    private String fields;
+    private Integer limit;
+
+    public boolean isPresent() {
+        return Stream.of(nameContains, minSalary, maxSalary, title, sort, fields).anyMatch(Objects::nonNull);
+    }
+
+    public boolean matches(MockEmployee employee) {
+        if (nameContains != null
+                && (employee.getName() == null || !employee.getName().contains(nameContains))) {
+            return false;
+        }
+        if (minSalary != null && (employee.getSalary() == null || employee.getSalary() < minSalary)) {
+            return false;
+        }
+        if (maxSalary != null && (employee.getSalary() == null || employee.getSalary() > maxSalary)) {
+            return false;
+        }
+        return title == null || title.equalsIgnoreCase(employee.getTitle());
+    }
+
+    public Sort sortOrder() {
+        return sort == null ? null : Sort.parse(sort);
+    }
+
+    public enum Sort {
+        SALARY_ASC,
+        SALARY_DESC;
+
+        public boolean descending() {
+            return this == SALARY_DESC;
+        }
+
+        public <T> Comparator<T> apply(Comparator<T> salaryOrder) {
+            return descending() ? salaryOrder.reversed() : salaryOrder;
+        }
+
+        static Sort parse(String value) {
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "salary", "salary:asc" -> SALARY_ASC;
+                case "salary:desc" -> SALARY_DESC;
+                default -> throw new IllegalArgumentException("Unsupported sort: " + value);
+            };
+        }
+    }
+}
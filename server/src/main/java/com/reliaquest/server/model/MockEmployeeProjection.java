@@ -0,0 +1,55 @@
+package com.reliaquest.server.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/*
+ * Renders a subset of MockEmployee properties under the same names Jackson uses for the full object.
+ * The id is always included so that projected rows can still be correlated.
+ */
+public final class MockEmployeeProjection {
+
+    private static final MockEmployee.PrefixNamingStrategy NAMING = new MockEmployee.PrefixNamingStrategy();
+
+    private static final Map<String, Function<MockEmployee, Object>> PROPERTIES = Map.of(
+            "id", MockEmployee::getId,
+            "name", MockEmployee::getName,
+            "salary", MockEmployee::getSalary,
+            "age", MockEmployee::getAge,
+            "title", MockEmployee::getTitle,
+            "email", MockEmployee::getEmail);
+
+    private static final List<String> ORDER = List.of("id", "name", "salary", "age", "title", "email");
+
+    private MockEmployeeProjection() {}
+
+    public static Set<String> parseFields(String fields) {
+        final var selected = new LinkedHashSet<String>();
+        selected.add("id");
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .forEach(field -> {
+                    if (!PROPERTIES.containsKey(field)) {
+                        throw new IllegalArgumentException("Unknown field: " + field);
+                    }
+                    selected.add(field);
+                });
+        return selected;
+    }
+
+    public static Map<String, Object> project(MockEmployee employee, Set<String> fields) {
+        final var projected = new LinkedHashMap<String, Object>(fields.size() * 2);
+        for (final var property : ORDER) {
+            if (fields.contains(property)) {
+                projected.put(NAMING.translate(property), PROPERTIES.get(property).apply(employee));
+            }
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,227 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * The roster and its secondary indexes: roster order for full listings, id order for lookups and paging, salary
+ * order for range filters and top-N, lowercase name for deletes, lowercase title for exact title filters and
+ * lowercase name trigrams for substring search.
+ * <p>
+ * Not thread-safe: {@link MockEmployeeService} reads it under a read lock and changes it under the write lock, so a
+ * reader sees an employee in every index or in none.
+ */
+class EmployeeIndex {
+
+    /*
+     * Unsigned order of the two id halves, which is the same as the lexicographic order of the canonical
+     * (lowercase hex) string form. Clients can therefore compare cursors as plain strings.
+     */
+    static final Comparator<UUID> ID_ORDER = (left, right) -> {
+        final var high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0
+                ? high
+                : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    };
+
+    static final Comparator<MockEmployee> SALARY_ORDER = Comparator.comparing(
+                    MockEmployee::getSalary, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(MockEmployee::getId, ID_ORDER);
+
+    private static final int GRAM = 3;
+    private static final UUID MIN_ID = new UUID(0L, 0L);
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    private final Map<UUID, MockEmployee> inRosterOrder = new LinkedHashMap<>();
+    private final TreeMap<UUID, MockEmployee> byId = new TreeMap<>(ID_ORDER);
+    private final TreeSet<MockEmployee> bySalary = new TreeSet<>(SALARY_ORDER);
+    private final Map<String, Set<UUID>> byName = new HashMap<>();
+    private final Map<String, Set<UUID>> byTitle = new HashMap<>();
+    private final Map<String, Set<UUID>> byNameGram = new HashMap<>();
+
+    /*
+     * Adds the employee at the end of the roster, replacing the one with the same id.
+     */
+    void add(MockEmployee employee) {
+        if (employee.getId() == null) {
+            return;
+        }
+        final var previous = byId.get(employee.getId());
+        if (previous != null) {
+            remove(previous);
+        }
+        inRosterOrder.put(employee.getId(), employee);
+        byId.put(employee.getId(), employee);
+        bySalary.add(employee);
+        if (employee.getName() != null) {
+            byName.computeIfAbsent(normalize(employee.getName()), ignored -> new LinkedHashSet<>())
+                    .add(employee.getId());
+        }
+        if (employee.getTitle() != null) {
+            byTitle.computeIfAbsent(normalize(employee.getTitle()), ignored -> new HashSet<>())
+                    .add(employee.getId());
+        }
+        for (final var gram : grams(employee.getName())) {
+            byNameGram.computeIfAbsent(gram, ignored -> new HashSet<>()).add(employee.getId());
+        }
+    }
+
+    void remove(MockEmployee employee) {
+        if (employee.getId() == null || byId.remove(employee.getId()) == null) {
+            return;
+        }
+        inRosterOrder.remove(employee.getId());
+        bySalary.remove(employee);
+        if (employee.getName() != null) {
+            removeFrom(byName, normalize(employee.getName()), employee.getId());
+        }
+        if (employee.getTitle() != null) {
+            removeFrom(byTitle, normalize(employee.getTitle()), employee.getId());
+        }
+        for (final var gram : grams(employee.getName())) {
+            removeFrom(byNameGram, gram, employee.getId());
+        }
+    }
+
+    Optional<MockEmployee> get(UUID id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    /*
+     * The employee listed first whose name equals this one, ignoring case.
+     */
+    Optional<MockEmployee> firstNamed(String name) {
+        return byName.getOrDefault(normalize(name), Set.of()).stream()
+                .map(byId::get)
+                .filter(employee -> employee.getName().equalsIgnoreCase(name))
+                .findFirst();
+    }
+
+    /*
+     * The whole roster, in the order employees were added.
+     */
+    List<MockEmployee> all() {
+        return new ArrayList<>(inRosterOrder.values());
+    }
+
+    NavigableMap<UUID, MockEmployee> byId() {
+        return byId;
+    }
+
+    List<MockEmployee> query(EmployeeQuery query) {
+        final var sort = query.sortOrder();
+        final var limit = query.getLimit() == null ? Integer.MAX_VALUE : Math.max(0, query.getLimit());
+
+        final var candidates = selectiveCandidates(query);
+        if (candidates == null) {
+            // Nothing selective to drive from: walk an ordered index and stop as soon as the limit is reached.
+            Collection<MockEmployee> ordered;
+            if (sort != null || query.getMinSalary() != null || query.getMaxSalary() != null) {
+                final var range = salaryRange(query.getMinSalary(), query.getMaxSalary());
+                ordered = sort != null && sort.descending() ? range.descendingSet() : range;
+            } else {
+                ordered = byId.values();
+            }
+            final var result = new ArrayList<MockEmployee>();
+            for (final var employee : ordered) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (query.matches(employee)) {
+                    result.add(employee);
+                }
+            }
+            return result;
+        }
+
+        var matches = candidates.stream().filter(query::matches);
+        if (sort != null) {
+            matches = matches.sorted(sort.apply(SALARY_ORDER));
+        }
+        return matches.limit(limit).toList();
+    }
+
+    /*
+     * Candidates from the most selective hash index the query can use, or null when it can use none.
+     */
+    private Collection<MockEmployee> selectiveCandidates(EmployeeQuery query) {
+        Set<UUID> ids = null;
+        if (query.getTitle() != null) {
+            ids = byTitle.getOrDefault(normalize(query.getTitle()), Set.of());
+        } else if (query.getNameContains() != null && query.getNameContains().length() >= GRAM) {
+            ids = nameCandidates(query.getNameContains());
+        }
+        if (ids == null) {
+            return null;
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    private Set<UUID> nameCandidates(String fragment) {
+        final var postings = grams(fragment).stream()
+                .map(gram -> byNameGram.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        final var ids = new HashSet<>(postings.get(0));
+        for (int i = 1; i < postings.size() && !ids.isEmpty(); i++) {
+            ids.retainAll(postings.get(i));
+        }
+        return ids;
+    }
+
+    private NavigableSet<MockEmployee> salaryRange(Integer min, Integer max) {
+        NavigableSet<MockEmployee> range = bySalary;
+        if (min != null) {
+            range = range.tailSet(salaryProbe(min, MIN_ID), true);
+        }
+        if (max != null) {
+            range = range.headSet(salaryProbe(max, MAX_ID), true);
+        }
+        return range;
+    }
+
+    private static MockEmployee salaryProbe(int salary, UUID id) {
+        return MockEmployee.builder().id(id).salary(salary).build();
+    }
+
+    private static Set<String> grams(String name) {
+        if (name == null || name.length() < GRAM) {
+            return Set.of();
+        }
+        final var normalized = normalize(name);
+        final var grams = new HashSet<String>();
+        for (int i = 0; i + GRAM <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static void removeFrom(Map<String, Set<UUID>> index, String key, UUID id) {
+        index.computeIfPresent(key, (ignored, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -3,56 +3,154 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.EmployeeShard;
+import com.reliaquest.server.store.RosterStore;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/*
+ * The roster lives in the EmployeeIndex alone. Reads run under the read lock and changes under the write lock, so
+ * a concurrent GET sees an employee in every index or in none. Changes are made durable in the RosterStore before
+ * they are applied, outside the lock, so concurrent creates still share one journal fsync.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final RosterStore rosterStore;
+
+    private final EmployeeShard employeeShard;
+
+    private final EmployeeIndex index = new EmployeeIndex();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /* Deletes pick their employee and record it as one step, so two deletes of one name remove two employees. */
+    private final Object deletes = new Object();
+
+    /* The full roster as last listed; dropped on every change. */
+    private volatile List<MockEmployee> listed;
+
+    public MockEmployeeService(
+            Faker faker, List<MockEmployee> mockEmployees, RosterStore rosterStore, EmployeeShard employeeShard) {
+        this.faker = faker;
+        this.rosterStore = rosterStore;
+        this.employeeShard = employeeShard;
+        mockEmployees.forEach(index::add);
+    }
+
+    /**
+     * The whole roster in the order employees were added, as an immutable snapshot.
+     */
+    public List<MockEmployee> getMockEmployees() {
+        final var employees = listed;
+        if (employees != null) {
+            return employees;
+        }
+        /* Published under the read lock, so a change cannot drop it in between and leave a stale roster behind. */
+        return read(() -> {
+            final var all = List.copyOf(index.all());
+            listed = all;
+            return all;
+        });
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return read(() -> index.get(uuid));
+    }
+
+    /**
+     * Returns up to {@code limit} employees in id order (see {@link EmployeeIndex#ID_ORDER}) whose id is after
+     * {@code cursor} (exclusive) and not after {@code until} (inclusive). Either bound may be {@code null}.
+     */
+    public EmployeePage page(UUID cursor, UUID until, int limit) {
+        return read(() -> pageOf(cursor, until, limit));
+    }
+
+    private EmployeePage pageOf(UUID cursor, UUID until, int limit) {
+        NavigableMap<UUID, MockEmployee> range = index.byId();
+        if (cursor != null) {
+            range = range.tailMap(cursor, false);
+        }
+        if (until != null) {
+            range = range.headMap(until, true);
+        }
+
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        for (final var mockEmployee : range.values()) {
+            if (employees.size() == limit) {
+                break;
+            }
+            employees.add(mockEmployee);
+        }
+        final var last = employees.isEmpty() ? null : employees.get(employees.size() - 1);
+        final var hasMore = last != null && range.higherKey(last.getId()) != null;
+        return new EmployeePage(employees, hasMore ? last.getId().toString() : null);
+    }
+
+    /**
+     * Filters, sorts and limits the roster using the secondary indexes, see {@link EmployeeQuery}.
+     */
+    public List<MockEmployee> query(@NonNull EmployeeQuery query) {
+        return read(() -> index.query(query));
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                employeeShard.newId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
+        rosterStore.recordCreate(mockEmployee);
+        write(() -> index.add(mockEmployee));
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
+        synchronized (deletes) {
+            final var mockEmployee = read(() -> index.firstNamed(input.getName()));
+            if (mockEmployee.isEmpty()) {
+                return false;
+            }
+            rosterStore.recordDelete(mockEmployee.get().getId());
+            write(() -> index.remove(mockEmployee.get()));
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
+    }
+
+    private <T> T read(Supplier<T> reading) {
+        lock.readLock().lock();
+        try {
+            return reading.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 
-        return false;
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            listed = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 }
@@ -0,0 +1,104 @@
+package com.reliaquest.server.shard;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * The slice of the employee id space this server instance owns when the roster is sharded over several instances.
+ * <p>
+ * Ids are placed on a consistent-hash ring on which every shard owns {@code virtualNodes} points; an id belongs to
+ * the shard of the first point at or after its hash. The api's ShardRing uses the same hash and layout, so both
+ * sides agree on the owner of every id without talking to each other. A single shard owns everything.
+ */
+public final class EmployeeShard {
+
+    private final int index;
+    private final int count;
+    private final long[] points;
+    private final int[] owners;
+
+    private EmployeeShard(int index, int count, int virtualNodes) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard index %d is not within %d shards".formatted(index, count));
+        }
+        this.index = index;
+        this.count = count;
+
+        final var entries = new long[count * virtualNodes][];
+        for (int shard = 0; shard < count; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                entries[shard * virtualNodes + node] = new long[] {mix(((long) shard << 32) | node), shard};
+            }
+        }
+        Arrays.sort(entries, (left, right) -> Long.compare(left[0], right[0]));
+        this.points = new long[entries.length];
+        this.owners = new int[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = (int) entries[i][1];
+        }
+    }
+
+    public static EmployeeShard of(int index, int count, int virtualNodes) {
+        return new EmployeeShard(index, count, Math.max(1, virtualNodes));
+    }
+
+    public static EmployeeShard single() {
+        return new EmployeeShard(0, 1, 1);
+    }
+
+    public int index() {
+        return index;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public boolean owns(UUID id) {
+        return count == 1 || ownerOf(id) == index;
+    }
+
+    public int ownerOf(UUID id) {
+        final var position = Arrays.binarySearch(points, hash(id));
+        final var point = position >= 0 ? position : -position - 1;
+        return owners[point == points.length ? 0 : point];
+    }
+
+    public UUID newId() {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (!owns(id));
+        return id;
+    }
+
+    /*
+     * Same version 4 layout as UUID.randomUUID(), drawn from the given generator so seeded rosters stay
+     * reproducible. Rejection sampling takes count attempts on average.
+     */
+    public UUID newId(RandomGenerator random) {
+        UUID id;
+        do {
+            final var high = (random.nextLong() & ~0xF000L) | 0x4000L;
+            final var low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+            id = new UUID(high, low);
+        } while (!owns(id));
+        return id;
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    /*
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long value) {
+        var z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Compact binary layout of one employee, shared by snapshot and log files:
+ * <pre>
+ *   id          16 bytes (most, least significant bits)
+ *   salary       4 bytes (Integer.MIN_VALUE = null)
+ *   age          1 byte  (-1 = null)
+ *   name, title, email   2 byte unsigned length (0xFFFF = null) + UTF-8 bytes
+ * </pre>
+ */
+final class EmployeeRecordCodec {
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_STRING_BYTES = NULL_LENGTH - 1;
+    private static final int FIXED_BYTES = 16 + 4 + 1;
+
+    private EmployeeRecordCodec() {}
+
+    static Encoded encode(MockEmployee employee) {
+        final var name = bytes(employee.getName());
+        final var title = bytes(employee.getTitle());
+        final var email = bytes(employee.getEmail());
+        final var size = FIXED_BYTES + length(name) + length(title) + length(email);
+        return new Encoded(employee, name, title, email, size);
+    }
+
+    static MockEmployee decode(ByteBuffer buffer) {
+        final var id = new UUID(buffer.getLong(), buffer.getLong());
+        final var salary = buffer.getInt();
+        final var age = buffer.get();
+        return MockEmployee.builder()
+                .id(id)
+                .salary(salary == Integer.MIN_VALUE ? null : salary)
+                .age(age < 0 ? null : (int) age)
+                .name(string(buffer))
+                .title(string(buffer))
+                .email(string(buffer))
+                .build();
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Value too long to store: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] bytes) {
+        return 2 + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String string(ByteBuffer buffer) {
+        final var length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An employee with its strings already converted, so the exact size is known before writing.
+     */
+    record Encoded(MockEmployee employee, byte[] name, byte[] title, byte[] email, int size) {
+
+        void writeTo(ByteBuffer buffer) {
+            buffer.putLong(employee.getId().getMostSignificantBits());
+            buffer.putLong(employee.getId().getLeastSignificantBits());
+            buffer.putInt(employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+            buffer.put(employee.getAge() == null ? (byte) -1 : employee.getAge().byteValue());
+            put(buffer, name);
+            put(buffer, title);
+            put(buffer, email);
+        }
+    }
+}
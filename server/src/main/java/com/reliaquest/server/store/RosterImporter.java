@@ -0,0 +1,200 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads a roster exported by the api (GET /api/employees/export or its exportRoster task) to seed the mock roster.
+ * The format is recognised by its first bytes: the columnar file starts with "EMPC", anything else is read as CSV
+ * with an id,name,salary,age,title,email header.
+ * <pre>
+ *   columnar: magic "EMPC" | version (int 1) | row groups | 0 (int)
+ *   row group: rows (int) | rows x id (16 bytes) | rows x salary (int, MIN_VALUE = null) | rows x age (byte, -1 = null)
+ *              | name, title, email each as rows x UTF-8 length (int, -1 = null) followed by the bytes
+ * </pre>
+ * The columnar file is memory-mapped and decoded column by column straight from the mapping. A file that does not
+ * follow either layout (a bad id or number, a missing or extra field, a truncated file) fails with an IOException.
+ */
+public final class RosterImporter {
+
+    private static final int COLUMNAR_MAGIC = 0x454D5043; // "EMPC"
+    private static final int COLUMNAR_VERSION = 1;
+    private static final String CSV_HEADER = "id,name,salary,age,title,email";
+
+    private RosterImporter() {}
+
+    public static List<MockEmployee> read(Path path) throws IOException {
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var magic = ByteBuffer.allocate(4);
+            channel.read(magic, 0);
+            if (magic.position() == 4 && magic.flip().getInt() == COLUMNAR_MAGIC) {
+                return readColumnar(channel);
+            }
+        }
+        try (final var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return readCsv(reader);
+        }
+    }
+
+    private static List<MockEmployee> readColumnar(FileChannel channel) throws IOException {
+        if (channel.size() > Integer.MAX_VALUE) {
+            throw new IOException("Columnar roster larger than 2 GB: " + channel.size() + " bytes");
+        }
+        final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        try {
+            return readColumnar(buffer);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated columnar roster: " + channel.size() + " bytes", e);
+        }
+    }
+
+    private static List<MockEmployee> readColumnar(ByteBuffer buffer) throws IOException {
+        buffer.position(4);
+        final var version = buffer.getInt();
+        if (version != COLUMNAR_VERSION) {
+            throw new IOException("Unsupported columnar roster version " + version);
+        }
+        final var roster = new ArrayList<MockEmployee>();
+        for (var rows = buffer.getInt(); rows != 0; rows = buffer.getInt()) {
+            if (rows < 0) {
+                throw new IOException("Negative row count " + rows + " in columnar roster");
+            }
+            final var ids = buffer.position();
+            final var salaries = ids + rows * 16;
+            final var ages = salaries + rows * 4;
+            buffer.position(ages + rows);
+            final var names = strings(buffer, rows);
+            final var titles = strings(buffer, rows);
+            final var emails = strings(buffer, rows);
+            for (int row = 0; row < rows; row++) {
+                final var salary = buffer.getInt(salaries + row * 4);
+                final var age = buffer.get(ages + row);
+                roster.add(MockEmployee.builder()
+                        .id(new UUID(buffer.getLong(ids + row * 16), buffer.getLong(ids + row * 16 + 8)))
+                        .salary(salary == Integer.MIN_VALUE ? null : salary)
+                        .age(age < 0 ? null : (int) age)
+                        .name(names[row])
+                        .title(titles[row])
+                        .email(emails[row])
+                        .build());
+            }
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException(buffer.remaining() + " bytes after the end of the columnar roster");
+        }
+        return roster;
+    }
+
+    private static String[] strings(ByteBuffer buffer, int rows) throws IOException {
+        final var lengths = buffer.position();
+        var offset = lengths + rows * 4;
+        final var values = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            final var length = buffer.getInt(lengths + row * 4);
+            if (length < -1) {
+                throw new IOException("Negative string length " + length + " in columnar roster");
+            }
+            if (length >= 0) {
+                final var bytes = new byte[length];
+                buffer.get(offset, bytes);
+                values[row] = new String(bytes, StandardCharsets.UTF_8);
+                offset += length;
+            }
+        }
+        buffer.position(offset);
+        return values;
+    }
+
+    private static List<MockEmployee> readCsv(Reader reader) throws IOException {
+        final var roster = new ArrayList<MockEmployee>();
+        final var header = readRecord(reader);
+        if (header == null || !CSV_HEADER.equals(String.join(",", header))) {
+            throw new IOException("Not a roster file: expected the CSV header " + CSV_HEADER);
+        }
+        for (var fields = readRecord(reader); fields != null; fields = readRecord(reader)) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != 6) {
+                throw new IOException("Expected 6 fields per employee but got " + fields.size() + ": " + fields);
+            }
+            roster.add(MockEmployee.builder()
+                    .id(id(fields.get(0)))
+                    .name(nullIfEmpty(fields.get(1)))
+                    .salary(integer(fields.get(2)))
+                    .age(integer(fields.get(3)))
+                    .title(nullIfEmpty(fields.get(4)))
+                    .email(nullIfEmpty(fields.get(5)))
+                    .build());
+        }
+        return roster;
+    }
+
+    /*
+     * One RFC 4180 record, quoted fields may hold commas, doubled quotes and line breaks; null at end of input.
+     */
+    private static List<String> readRecord(Reader reader) throws IOException {
+        final var fields = new ArrayList<String>(6);
+        final var field = new StringBuilder();
+        var quoted = false;
+        var c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String nullIfEmpty(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static UUID id(String value) throws IOException {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Not an employee id: '" + value + "'", e);
+        }
+    }
+
+    private static Integer integer(String value) throws IOException {
+        try {
+            return value.isEmpty() ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Not a number: '" + value + "'", e);
+        }
+    }
+}
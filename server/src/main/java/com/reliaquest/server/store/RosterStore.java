@@ -0,0 +1,54 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable home of the mock roster. Mutations are recorded, and durable, before they are applied in memory; replay
+ * must be idempotent (create is an upsert by id, delete removes by id).
+ */
+public interface RosterStore extends AutoCloseable {
+
+    /**
+     * The roster as persisted when the store was opened; empty on first run.
+     */
+    List<MockEmployee> load();
+
+    /**
+     * Replaces everything persisted with the given roster, e.g. after seeding.
+     */
+    void replaceAll(Collection<MockEmployee> employees);
+
+    void recordCreate(MockEmployee employee);
+
+    void recordDelete(UUID id);
+
+    @Override
+    void close();
+
+    /**
+     * Keeps the roster in memory only, as the mock server always did.
+     */
+    static RosterStore none() {
+        return new RosterStore() {
+            @Override
+            public List<MockEmployee> load() {
+                return List.of();
+            }
+
+            @Override
+            public void replaceAll(Collection<MockEmployee> employees) {}
+
+            @Override
+            public void recordCreate(MockEmployee employee) {}
+
+            @Override
+            public void recordDelete(UUID id) {}
+
+            @Override
+            public void close() {}
+        };
+    }
+}
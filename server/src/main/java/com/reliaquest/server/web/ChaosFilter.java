@@ -0,0 +1,216 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Injects upstream faults into the employee endpoints, reproducibly: every decision for the n-th request is drawn
+ * from a generator seeded with {@code mock.chaos.seed} (random and logged when unset) and n, so two runs with the
+ * same seed and request sequence see the same latencies and faults. Per request, in this order:
+ * <ul>
+ *   <li>a latency drawn from the configured distribution (fixed, uniform between min and max, or log-normal around
+ *   the median with the given sigma, clamped to min and max) before the request is handled;</li>
+ *   <li>at most one of: a reset (the connection is closed halfway through the body), a 429 with Retry-After, or an
+ *   error status, each at its rate;</li>
+ *   <li>otherwise, at slow-body-rate, the body is sent in chunks of slow-body-chunk bytes with slow-body-delay
+ *   between them.</li>
+ * </ul>
+ * The chaos-* profiles in application.yml are ready-made combinations.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.chaos.enabled", havingValue = "true")
+public class ChaosFilter extends OncePerRequestFilter {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    public enum LatencyDistribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOGNORMAL
+    }
+
+    private final long seed;
+    private final LatencyDistribution latency;
+    private final Duration latencyMin;
+    private final Duration latencyMedian;
+    private final Duration latencyMax;
+    private final double latencySigma;
+    private final double resetRate;
+    private final double throttleRate;
+    private final String retryAfter;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double slowBodyRate;
+    private final int slowBodyChunk;
+    private final Duration slowBodyDelay;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ChaosFilter(
+            @Value("${mock.chaos.seed:#{null}}") Long seed,
+            @Value("${mock.chaos.latency:none}") LatencyDistribution latency,
+            @Value("${mock.chaos.latency-min:0ms}") Duration latencyMin,
+            @Value("${mock.chaos.latency-median:0ms}") Duration latencyMedian,
+            @Value("${mock.chaos.latency-max:0ms}") Duration latencyMax,
+            @Value("${mock.chaos.latency-sigma:0.5}") double latencySigma,
+            @Value("${mock.chaos.reset-rate:0}") double resetRate,
+            @Value("${mock.chaos.throttle-rate:0}") double throttleRate,
+            @Value("${mock.chaos.retry-after:1s}") Duration retryAfter,
+            @Value("${mock.chaos.error-rate:0}") double errorRate,
+            @Value("${mock.chaos.error-status:503}") int errorStatus,
+            @Value("${mock.chaos.slow-body-rate:0}") double slowBodyRate,
+            @Value("${mock.chaos.slow-body-chunk:256}") int slowBodyChunk,
+            @Value("${mock.chaos.slow-body-delay:50ms}") Duration slowBodyDelay) {
+        this.seed = seed != null ? seed : new SplittableRandom().nextLong();
+        this.latency = latency;
+        this.latencyMin = latencyMin;
+        this.latencyMedian = latencyMedian;
+        this.latencyMax = latencyMax.compareTo(latencyMin) < 0 ? latencyMin : latencyMax;
+        this.latencySigma = latencySigma;
+        this.resetRate = resetRate;
+        this.throttleRate = throttleRate;
+        this.retryAfter = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.errorRate = errorRate;
+        this.errorStatus = errorStatus;
+        this.slowBodyRate = slowBodyRate;
+        this.slowBodyChunk = Math.max(1, slowBodyChunk);
+        this.slowBodyDelay = slowBodyDelay;
+        log.warn(
+                "Chaos enabled with seed {}: {} latency ({}..{}, median {}), reset {}, 429 {}, {} {}, slow body {}",
+                this.seed,
+                latency,
+                latencyMin,
+                this.latencyMax,
+                latencyMedian,
+                resetRate,
+                throttleRate,
+                errorStatus,
+                errorRate,
+                slowBodyRate);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(EMPLOYEE_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var injection = injection(sequence.getAndIncrement());
+        sleep(injection.latency());
+
+        if (injection.fault() == Fault.THROTTLE) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            return;
+        }
+        if (injection.fault() == Fault.ERROR) {
+            response.sendError(errorStatus, "Injected by mock.chaos");
+            return;
+        }
+        final var reset = injection.fault() == Fault.RESET;
+        final var slowBody = injection.slowBody();
+        if (!reset && !slowBody) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var buffered = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, buffered);
+        final var body = buffered.getContentAsByteArray();
+        response.setContentLength(body.length);
+        final var out = response.getOutputStream();
+        final var end = reset ? body.length / 2 : body.length;
+        for (var at = 0; at < end; at += slowBodyChunk) {
+            out.write(body, at, Math.min(slowBodyChunk, end - at));
+            out.flush();
+            if (slowBody) {
+                sleep(slowBodyDelay);
+            }
+        }
+        if (reset) {
+            /* The client was promised body.length bytes; failing now makes the container drop the connection. */
+            out.flush();
+            throw new ChaosResetException();
+        }
+    }
+
+    /* What happens to the n-th request, drawn from the seed and n alone. */
+    Injection injection(long request) {
+        final var random = new SplittableRandom(seed ^ (request * 0x9E3779B97F4A7C15L));
+        final var latency = latency(random);
+        final var fault = random.nextDouble();
+        if (fault < throttleRate) {
+            return new Injection(latency, Fault.THROTTLE, false);
+        }
+        if (fault < throttleRate + errorRate) {
+            return new Injection(latency, Fault.ERROR, false);
+        }
+        final var reset = fault < throttleRate + errorRate + resetRate;
+        return new Injection(latency, reset ? Fault.RESET : Fault.NONE, random.nextDouble() < slowBodyRate);
+    }
+
+    private Duration latency(RandomGenerator random) {
+        return switch (latency) {
+            case NONE -> Duration.ZERO;
+            case FIXED -> latencyMedian;
+            case UNIFORM -> Duration.ofNanos(
+                    random.nextLong(latencyMin.toNanos(), latencyMax.toNanos() + 1));
+            case LOGNORMAL -> {
+                final var nanos = latencyMedian.toNanos() * Math.exp(latencySigma * random.nextGaussian());
+                yield Duration.ofNanos(
+                        Math.max(latencyMin.toNanos(), Math.min(latencyMax.toNanos(), (long) nanos)));
+            }
+        };
+    }
+
+    private static void sleep(Duration duration) throws IOException {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration.toMillis(), duration.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while injecting latency", e);
+        }
+    }
+
+    enum Fault {
+        NONE,
+        THROTTLE,
+        ERROR,
+        RESET
+    }
+
+    record Injection(Duration latency, Fault fault, boolean slowBody) {}
+
+    /* Stackless: it only exists to abort the connection. */
+    static final class ChaosResetException extends IOException {
+        ChaosResetException() {
+            super("Connection reset injected by mock.chaos");
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
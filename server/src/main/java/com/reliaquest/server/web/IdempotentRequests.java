@@ -0,0 +1,107 @@
+package com.reliaquest.server.web;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Remembers the response to each request sent with an Idempotency-Key, so a retried create returns the employee
+ * created the first time instead of adding another. A duplicate arriving while the first is still running waits
+ * for it. Failed requests are forgotten, so their key can be retried.
+ * <p>
+ * Keys expire after {@code ttl} and at most {@code maxKeys} are kept, the oldest evicted first. Reusing a key for a
+ * different request body is rejected with 422-Unprocessable Entity.
+ */
+@Slf4j
+@Component
+public class IdempotentRequests {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private final Duration ttl;
+    private final int maxKeys;
+    private final Clock clock;
+
+    /* In insertion order, which is expiry order too since every key lives for the same ttl. */
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotentRequests(
+            @Value("${mock.idempotency.ttl:10m}") Duration ttl,
+            @Value("${mock.idempotency.max-keys:10000}") int maxKeys) {
+        this(ttl, maxKeys, Clock.systemUTC());
+    }
+
+    IdempotentRequests(Duration ttl, int maxKeys, Clock clock) {
+        this.ttl = ttl;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object request, Supplier<T> action) {
+        final var started = new CompletableFuture<Object>();
+        final Entry entry;
+        synchronized (entries) {
+            final var now = clock.instant();
+            evictExpired(now);
+            final var existing = entries.get(key);
+            if (existing != null && !Objects.equals(existing.request(), request)) {
+                throw new ResponseStatusException(
+                        HttpStatus.UNPROCESSABLE_ENTITY,
+                        IDEMPOTENCY_KEY + " " + key + " was already used for a different request");
+            }
+            if (existing == null) {
+                entry = new Entry(request, now.plus(ttl), started);
+                entries.put(key, entry);
+                if (entries.size() > maxKeys) {
+                    final var eldest = entries.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+            } else {
+                entry = existing;
+            }
+        }
+        if (entry.response() != started) {
+            log.debug("Replaying the response to {} {}", IDEMPOTENCY_KEY, key);
+            try {
+                return (T) entry.response().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            final var response = action.get();
+            started.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            started.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        final var oldest = entries.values().iterator();
+        while (oldest.hasNext() && !oldest.next().expiresAt().isAfter(now)) {
+            oldest.remove();
+        }
+    }
+
+    private record Entry(Object request, Instant expiresAt, CompletableFuture<Object> response) {}
+}
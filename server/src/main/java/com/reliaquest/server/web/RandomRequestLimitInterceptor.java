@@ -3,46 +3,111 @@ package com.reliaquest.server.web;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
-import java.time.Instant;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
 import java.util.random.RandomGenerator;
-import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+/**
+ * Rate limits requests with GCRA (generic cell rate algorithm): up to {@code limit} requests may arrive in a burst,
+ * after which one more is admitted every {@code window / limit}. Rejected requests get 429-Too Many Requests with a
+ * Retry-After header telling the client exactly when the next request would be admitted.
+ * <p>
+ * Each bucket is a single theoretical arrival time updated by CAS, so the limiter never over-admits under
+ * concurrency and does not allocate on the admit path. Limit and window default to a random 5-9 requests per
+ * 30-89 seconds, the same ones on every start when a seed is set (mock.rate-limit.seed, else mock.chaos.seed).
+ * With a client key (the remote address or a request header) requests are spread over striped buckets; clients
+ * whose keys hash to the same stripe share a bucket.
+ */
+@Slf4j
+@Component
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private static final int STRIPES = 256;
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String IP_KEY = "ip";
+    private static final String HEADER_KEY_PREFIX = "header:";
 
-    private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
+    private final long windowNanos;
+    private final long emissionIntervalNanos;
+    private final boolean byAddress;
+    private final String keyHeader;
+    private final LongSupplier nanoTime;
+    private final long origin;
+    private final AtomicLongArray theoreticalArrivals;
+
+    @Autowired
+    public RandomRequestLimitInterceptor(
+            @Value("${mock.rate-limit.limit:0}") int limit,
+            @Value("${mock.rate-limit.window:0s}") Duration window,
+            @Value("${mock.rate-limit.client-key:none}") String clientKey,
+            @Value("${mock.rate-limit.seed:${mock.chaos.seed:#{null}}}") Long seed) {
+        this(limit, window, clientKey, seed, System::nanoTime);
+    }
+
+    RandomRequestLimitInterceptor(int limit, Duration window, String clientKey, Long seed, LongSupplier nanoTime) {
+        final var random = seed == null ? RandomGenerator.getDefault() : new SplittableRandom(seed);
+        final var requestLimit = limit > 0 ? limit : random.nextInt(5, 10);
+        final var requestWindow =
+                window.isZero() || window.isNegative() ? Duration.ofSeconds(random.nextInt(30, 90)) : window;
+        this.windowNanos = requestWindow.toNanos();
+        this.emissionIntervalNanos = Math.max(1, windowNanos / requestLimit);
+        this.byAddress = IP_KEY.equalsIgnoreCase(clientKey);
+        this.keyHeader =
+                clientKey.startsWith(HEADER_KEY_PREFIX) ? clientKey.substring(HEADER_KEY_PREFIX.length()) : null;
+        this.nanoTime = nanoTime;
+        this.origin = nanoTime.getAsLong();
+        this.theoreticalArrivals = new AtomicLongArray(byAddress || keyHeader != null ? STRIPES : 1);
+        log.info("Rate limiting to {} requests per {} (client key: {})", requestLimit, requestWindow, clientKey);
+    }
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isBefore(requestLimit.get().getLastRequested())) {
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                return false;
+        final var waitNanos = acquire(stripe(request));
+        if (waitNanos == 0) {
+            return true;
+        }
+        final var retryAfterSeconds = Math.max(1, (waitNanos + SECOND_NANOS - 1) / SECOND_NANOS);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return false;
+    }
+
+    /*
+     * Returns 0 when the request is admitted, otherwise how long until it would be.
+     */
+    private long acquire(int stripe) {
+        final var now = nanoTime.getAsLong() - origin;
+        while (true) {
+            final var arrival = theoreticalArrivals.get(stripe);
+            final var next = Math.max(arrival, now) + emissionIntervalNanos;
+            final var excess = next - now - windowNanos;
+            if (excess > 0) {
+                return excess;
             }
-            if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
-                    .isAfter(requestLimit.get().getLastRequested())) {
-                requestLimit.set(RequestLimit.init());
+            if (theoreticalArrivals.compareAndSet(stripe, arrival, next)) {
+                return 0;
             }
-        } else {
-            requestLimit.getAndUpdate(
-                    currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
-
-        return true;
     }
 
-    private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
-        public static RequestLimit init() {
-            return new RequestLimit(0, Instant.now());
+    private int stripe(HttpServletRequest request) {
+        if (theoreticalArrivals.length() == 1) {
+            return 0;
+        }
+        String key = keyHeader != null ? request.getHeader(keyHeader) : null;
+        if (key == null) {
+            key = request.getRemoteAddr();
         }
+        final var hash = key == null ? 0 : key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
     }
 }
@@ -0,0 +1,68 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.EmployeeShard;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+public class RosterGeneratorTest {
+
+    // Three whole chunks and a partial one.
+    private static final int COUNT = 3 * RosterGenerator.CHUNK_SIZE + 17;
+
+    private static final long SEED = 42L;
+
+    @Test
+    void testSameSeedGivesTheSameRosterAtAnyParallelism() throws Exception {
+        final var sequential = generate(1, SEED, EmployeeShard.single());
+
+        assertEquals(COUNT, sequential.size());
+        assertEquals(sequential, generate(2, SEED, EmployeeShard.single()));
+        assertEquals(sequential, generate(8, SEED, EmployeeShard.single()));
+        assertEquals(sequential, RosterGenerator.generate(COUNT, SEED, Locale.ENGLISH, EmployeeShard.single()));
+    }
+
+    @Test
+    void testDifferentSeedsGiveDifferentRosters() throws Exception {
+        assertNotEquals(generate(4, SEED, EmployeeShard.single()), generate(4, SEED + 1, EmployeeShard.single()));
+    }
+
+    @Test
+    void testIdsAreUniqueAcrossChunks() throws Exception {
+        final var roster = generate(4, SEED, EmployeeShard.single());
+
+        assertEquals(COUNT, roster.stream().map(MockEmployee::getId).distinct().count());
+    }
+
+    @Test
+    void testShardedRosterHoldsOnlyOwnedIds() throws Exception {
+        final var shard = EmployeeShard.of(1, 3, 16);
+        final var roster = generate(4, SEED, shard);
+
+        assertEquals(roster, generate(1, SEED, shard));
+        assertTrue(roster.stream().allMatch(employee -> shard.owns(employee.getId())));
+        assertEquals(COUNT, roster.stream().map(MockEmployee::getId).distinct().count());
+    }
+
+    @Test
+    void testNonPositiveCountGivesAnEmptyRoster() {
+        assertEquals(List.of(), RosterGenerator.generate(0, SEED, Locale.ENGLISH, EmployeeShard.single()));
+        assertEquals(List.of(), RosterGenerator.generate(-1, SEED, Locale.ENGLISH, EmployeeShard.single()));
+    }
+
+    /*
+     * A parallel stream runs its tasks in the pool it is started from, so this fixes the generator's parallelism.
+     */
+    private static List<MockEmployee> generate(int parallelism, long seed, EmployeeShard shard) throws Exception {
+        final var pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> RosterGenerator.generate(COUNT, seed, Locale.ENGLISH, shard)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
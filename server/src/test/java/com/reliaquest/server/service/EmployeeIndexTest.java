@@ -0,0 +1,109 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeIndexTest {
+
+    private final EmployeeIndex index = new EmployeeIndex();
+
+    private final MockEmployee ariel = employee(1, "Ariel Larkin", 244740, "Construction Officer");
+    private final MockEmployee bill = employee(2, "Bill Bob", 89750, "Documentation Engineer");
+    private final MockEmployee cordie = employee(3, "Cordie Cole", 459227, "Future Designer");
+    private final MockEmployee jill = employee(4, "Jill Jenkins", 139082, "construction officer");
+    private final MockEmployee unpaid = employee(5, "Una Paid", null, "Intern");
+
+    @BeforeEach
+    void setUp() {
+        List.of(ariel, bill, cordie, jill, unpaid).forEach(index::add);
+    }
+
+    @Test
+    void testFiltersBySalaryRangeInSalaryOrder() {
+        final var query = new EmployeeQuery();
+        query.setMinSalary(100000);
+        query.setMaxSalary(300000);
+
+        assertEquals(List.of(jill, ariel), index.query(query));
+    }
+
+    @Test
+    void testTopEarnersStopAtTheLimit() {
+        final var query = new EmployeeQuery();
+        query.setSort("salary:desc");
+        query.setLimit(2);
+
+        assertEquals(List.of(cordie, ariel), index.query(query));
+
+        query.setSort("salary");
+        query.setLimit(null);
+        assertEquals(List.of(unpaid, bill, jill, ariel, cordie), index.query(query));
+    }
+
+    @Test
+    void testFiltersByTitleIgnoringCaseAndByNameFragment() {
+        final var byTitle = new EmployeeQuery();
+        byTitle.setTitle("CONSTRUCTION OFFICER");
+        byTitle.setSort("salary");
+        assertEquals(List.of(jill, ariel), index.query(byTitle));
+
+        final var byName = new EmployeeQuery();
+        byName.setNameContains("Col");
+        assertEquals(List.of(cordie), index.query(byName));
+
+        // Shorter than a trigram: no index to drive from, the roster is scanned.
+        byName.setNameContains("Bo");
+        assertEquals(List.of(bill), index.query(byName));
+
+        byName.setNameContains("Larkin");
+        byName.setMaxSalary(100000);
+        assertEquals(List.of(), index.query(byName));
+    }
+
+    @Test
+    void testRemovedAndReplacedEmployeesLeaveNoTraceInAnyIndex() {
+        index.remove(ariel);
+        final var promoted = ariel.toBuilder().id(jill.getId()).salary(500000).build();
+        index.add(promoted);
+
+        final var query = new EmployeeQuery();
+        query.setSort("salary:desc");
+        assertEquals(List.of(promoted, cordie, bill, unpaid), index.query(query));
+        assertTrue(index.get(ariel.getId()).isEmpty());
+        assertEquals(promoted, index.get(jill.getId()).orElseThrow());
+        assertEquals(List.of(bill, cordie, unpaid, promoted), index.all());
+
+        final var byTitle = new EmployeeQuery();
+        byTitle.setTitle("construction officer");
+        assertEquals(List.of(promoted), index.query(byTitle));
+        assertTrue(index.firstNamed("jill jenkins").isEmpty());
+        assertEquals(promoted, index.firstNamed("ARIEL LARKIN").orElseThrow());
+    }
+
+    @Test
+    void testFirstNamedPicksTheEarliestAdded() {
+        final var twin = employee(6, "Bill Bob", 1, "Twin");
+        index.add(twin);
+
+        assertEquals(bill, index.firstNamed("bill bob").orElseThrow());
+        index.remove(bill);
+        assertEquals(twin, index.firstNamed("bill bob").orElseThrow());
+    }
+
+    private static MockEmployee employee(long id, String name, Integer salary, String title) {
+        return MockEmployee.builder()
+                .id(new UUID(0, id))
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title(title)
+                .email(id + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.shard.EmployeeShard;
+import com.reliaquest.server.store.RosterStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeServiceTest {
+
+    private final MockEmployee ariel = MockEmployee.builder()
+            .id(new UUID(0, 1))
+            .name("Ariel Larkin")
+            .salary(244740)
+            .age(46)
+            .title("Construction Officer")
+            .email("domainer@company.com")
+            .build();
+
+    private final MockEmployeeService service = new MockEmployeeService(
+            new Faker(new Random(7)), List.of(ariel), RosterStore.none(), EmployeeShard.single());
+
+    @Test
+    void testCreatedEmployeesAreListedFoundAndQueried() {
+        final var created = service.create(input("Bill Bob", 89750));
+
+        assertEquals(List.of(ariel, created), service.getMockEmployees());
+        assertEquals(created, service.findById(created.getId()).orElseThrow());
+        final var query = new EmployeeQuery();
+        query.setNameContains("Bill");
+        assertEquals(List.of(created), service.query(query));
+    }
+
+    @Test
+    void testDeleteByNameRemovesTheFirstListedFromEveryIndex() {
+        final var first = service.create(input("Bill Bob", 1));
+        final var second = service.create(input("Bill Bob", 2));
+
+        assertTrue(service.delete(delete("BILL BOB")));
+
+        assertTrue(service.findById(first.getId()).isEmpty());
+        assertEquals(List.of(ariel, second), service.getMockEmployees());
+        final var query = new EmployeeQuery();
+        query.setSort("salary");
+        assertEquals(List.of(second, ariel), service.query(query));
+        assertTrue(service.delete(delete("bill bob")));
+        assertFalse(service.delete(delete("bill bob")));
+        assertEquals(List.of(ariel), service.getMockEmployees());
+    }
+
+    @Test
+    void testConcurrentChangesKeepTheRosterAndIndexesInStep() throws Exception {
+        final var executor = Executors.newFixedThreadPool(8);
+        try {
+            final var tasks = new ArrayList<Future<?>>();
+            for (int thread = 0; thread < 8; thread++) {
+                final var name = "Employee " + thread;
+                tasks.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        service.create(input(name, 1000 + i));
+                        if (i % 2 == 1) {
+                            assertTrue(service.delete(delete(name)));
+                        }
+                    }
+                }));
+            }
+            for (final var task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final var roster = service.getMockEmployees();
+        assertEquals(1 + 8 * 100, roster.size());
+        final var query = new EmployeeQuery();
+        query.setSort("salary");
+        assertEquals(roster.size(), service.query(query).size());
+        roster.forEach(employee -> assertEquals(employee, service.findById(employee.getId()).orElseThrow()));
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(30);
+        input.setTitle("Developer");
+        return input;
+    }
+
+    private static DeleteMockEmployeeInput delete(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
@@ -0,0 +1,126 @@
+package com.reliaquest.server.shard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeShardTest {
+
+    private static final int IDS = 60_000;
+
+    @Test
+    void testPlacementMatchesTheApiRing() {
+        // The same ids and owners as the api's ShardRingTest, for 3 shards and 128 virtual nodes.
+        final var shard = EmployeeShard.of(0, 3, 128);
+
+        assertEquals(1, shard.ownerOf(UUID.fromString("9250abc9-d7ef-414b-8c85-168a91e0f8c8")));
+        assertEquals(2, shard.ownerOf(UUID.fromString("b328f159-1841-4411-8032-78c8be1ea190")));
+        assertEquals(0, shard.ownerOf(UUID.fromString("3d6728bc-0a0a-490b-8739-c6ff4ad33072")));
+        assertEquals(2, shard.ownerOf(UUID.fromString("62272440-1381-45e5-9ebd-52edbb7357dc")));
+    }
+
+    @Test
+    void testEveryIdHasExactlyOneOwner() {
+        final var shards = new EmployeeShard[] {
+            EmployeeShard.of(0, 3, 128), EmployeeShard.of(1, 3, 128), EmployeeShard.of(2, 3, 128)
+        };
+        final var random = new SplittableRandom(7);
+        for (int i = 0; i < 1000; i++) {
+            final var id = new UUID(random.nextLong(), random.nextLong());
+            var owners = 0;
+            for (final var shard : shards) {
+                if (shard.owns(id)) {
+                    owners++;
+                    assertEquals(shard.index(), shard.ownerOf(id));
+                }
+            }
+            assertEquals(1, owners, id.toString());
+        }
+    }
+
+    @Test
+    void testSingleShardOwnsEverything() {
+        final var shard = EmployeeShard.single();
+        final var random = new SplittableRandom(7);
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(shard.owns(new UUID(random.nextLong(), random.nextLong())));
+        }
+    }
+
+    @Test
+    void testVirtualNodesSpreadIdsEvenly() {
+        for (final var count : new int[] {3, 4}) {
+            final var counts = distribution(count, 128);
+            final var fair = IDS / count;
+            for (int shard = 0; shard < count; shard++) {
+                assertTrue(
+                        Math.abs(counts[shard] - fair) < fair * 0.15,
+                        "shard %d of %d holds %d ids".formatted(shard, count, counts[shard]));
+            }
+        }
+        // One point per shard leaves the ring as uneven as its few hashes happen to fall.
+        assertTrue(spread(distribution(3, 128)) < spread(distribution(3, 1)));
+    }
+
+    @Test
+    void testAddingAShardOnlyMovesIdsToTheNewShard() {
+        final var before = EmployeeShard.of(0, 3, 128);
+        final var after = EmployeeShard.of(0, 4, 128);
+        final var random = new SplittableRandom(7);
+        var moved = 0;
+        for (int i = 0; i < IDS; i++) {
+            final var id = new UUID(random.nextLong(), random.nextLong());
+            if (before.ownerOf(id) != after.ownerOf(id)) {
+                assertEquals(3, after.ownerOf(id));
+                moved++;
+            }
+        }
+
+        assertTrue(Math.abs(moved - IDS / 4) < IDS / 4 * 0.15, moved + " ids moved");
+    }
+
+    @Test
+    void testNewIdsBelongToTheShardAndFollowTheSeed() {
+        final var shard = EmployeeShard.of(2, 3, 128);
+        final var random = new SplittableRandom(7);
+        final var replay = new SplittableRandom(7);
+
+        for (int i = 0; i < 100; i++) {
+            final var id = shard.newId(random);
+            assertTrue(shard.owns(id));
+            assertEquals(4, id.version());
+            assertEquals(id, shard.newId(replay));
+        }
+        assertTrue(shard.owns(shard.newId()));
+    }
+
+    @Test
+    void testRejectsAnIndexOutsideTheShards() {
+        assertThrows(IllegalArgumentException.class, () -> EmployeeShard.of(3, 3, 128));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeShard.of(-1, 3, 128));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeShard.of(0, 0, 128));
+    }
+
+    private static int[] distribution(int count, int virtualNodes) {
+        final var shard = EmployeeShard.of(0, count, virtualNodes);
+        final var counts = new int[count];
+        final var random = new SplittableRandom(7);
+        for (int i = 0; i < IDS; i++) {
+            counts[shard.ownerOf(new UUID(random.nextLong(), random.nextLong()))]++;
+        }
+        return counts;
+    }
+
+    private static double spread(int[] counts) {
+        var min = Integer.MAX_VALUE;
+        var max = 0;
+        for (final var count : counts) {
+            min = Math.min(min, count);
+            max = Math.max(max, count);
+        }
+        return (double) max / min;
+    }
+}
@@ -0,0 +1,160 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileRosterStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private final MockEmployee ariel = employee(1, "Ariel Larkin");
+    private final MockEmployee bill = employee(2, "Bill Bob");
+    private final MockEmployee cordie = employee(3, "Cordie Cole");
+    private final MockEmployee jill = employee(4, "Jill Jenkins");
+
+    @Test
+    void testReopensWithTheSnapshotAndTheJournalReplayed() throws IOException {
+        try (final var store = open()) {
+            assertEquals(List.of(), store.load());
+            store.replaceAll(List.of(ariel, bill));
+            store.recordCreate(cordie);
+            store.recordDelete(ariel.getId());
+            store.recordCreate(bill.toBuilder().salary(1).build());
+        }
+
+        try (final var store = open()) {
+            assertEquals(List.of(bill.toBuilder().salary(1).build(), cordie), store.load());
+        }
+        // Replaying compacted the journal into the snapshot.
+        assertEquals(0, Files.size(journal()));
+    }
+
+    @Test
+    void testReplayStopsAtARecordWithABadChecksum() throws IOException {
+        try (final var store = open()) {
+            store.replaceAll(List.of(ariel));
+            store.recordCreate(bill);
+            store.recordCreate(cordie);
+            store.recordCreate(jill);
+        }
+        final var bytes = Files.readAllBytes(journal());
+        // The last byte of cordie's record is part of its CRC32C.
+        bytes[journalBytes(bill) + journalBytes(cordie) - 1] ^= 0x5A;
+        Files.write(journal(), bytes);
+
+        try (final var store = open()) {
+            assertEquals(List.of(ariel, bill), store.load());
+            store.recordCreate(jill);
+        }
+        try (final var store = open()) {
+            assertEquals(List.of(ariel, bill, jill), store.load());
+        }
+    }
+
+    @Test
+    void testTornTailRecordIsDropped() throws IOException {
+        try (final var store = open()) {
+            store.replaceAll(List.of(ariel));
+            store.recordCreate(bill);
+            store.recordCreate(cordie);
+        }
+        final var bytes = Files.readAllBytes(journal());
+        assertEquals(journalBytes(bill) + journalBytes(cordie), bytes.length);
+        // A crash in the middle of the last append.
+        Files.write(journal(), Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (final var store = open()) {
+            assertEquals(List.of(ariel, bill), store.load());
+        }
+    }
+
+    @Test
+    void testReplayIsRepeatableAfterACrashBetweenSnapshotAndJournalTruncation() throws IOException {
+        try (final var store = open()) {
+            store.replaceAll(List.of(ariel, bill));
+            store.recordDelete(ariel.getId());
+            store.recordCreate(cordie);
+        }
+        final var journal = Files.readAllBytes(journal());
+        try (final var store = open()) {
+            assertEquals(List.of(bill, cordie), store.load());
+        }
+        // The compacted snapshot made it to disk, the journal truncation did not.
+        Files.write(journal(), journal);
+
+        try (final var store = open()) {
+            assertEquals(List.of(bill, cordie), store.load());
+        }
+    }
+
+    @Test
+    void testConcurrentMutationsAreAllDurable() throws Exception {
+        final var created = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 64; i++) {
+            created.add(employee(100 + i, "Employee " + i));
+        }
+        final var executor = Executors.newFixedThreadPool(16);
+        try (final var store = FileRosterStore.open(directory, Duration.ofMillis(5))) {
+            final var writes = new ArrayList<Future<?>>();
+            for (final var employee : created) {
+                writes.add(executor.submit(() -> store.recordCreate(employee)));
+            }
+            for (final var write : writes) {
+                write.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        try (final var store = open()) {
+            assertEquals(new HashSet<>(created), new HashSet<>(store.load()));
+        }
+    }
+
+    @Test
+    void testRejectsAFileThatIsNotASnapshot() throws IOException {
+        Files.write(
+                directory.resolve(FileRosterStore.SNAPSHOT_FILE), new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        assertThrows(IOException.class, this::open);
+    }
+
+    private FileRosterStore open() throws IOException {
+        return FileRosterStore.open(directory, Duration.ZERO);
+    }
+
+    private Path journal() {
+        return directory.resolve(FileRosterStore.JOURNAL_FILE);
+    }
+
+    // Length, operation, record and CRC32C.
+    private static int journalBytes(MockEmployee employee) {
+        return 4 + 1 + EmployeeRecordCodec.encode(employee).size() + 4;
+    }
+
+    private static MockEmployee employee(long id, String name) {
+        return MockEmployee.builder()
+                .id(new UUID(0, id))
+                .name(name)
+                .salary((int) (1000 * id))
+                .age(30)
+                .title("Developer")
+                .email(id + "@company.com")
+                .build();
+    }
+}
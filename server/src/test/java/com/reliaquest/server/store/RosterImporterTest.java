@@ -0,0 +1,191 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RosterImporterTest {
+
+    // The api's RosterExportFormatTest writes exactly these bytes for ariel and cordie; change both together.
+    private static final String CSV_FILE = "id,name,salary,age,title,email\r\n"
+            + "9250abc9-d7ef-414b-8c85-168a91e0f8c8,\"Ariel \"\"Ari\"\" Larkin\",100,24,\"Developer, Senior\","
+            + "a@company.com\r\n"
+            + "b328f159-1841-4411-8032-78c8be1ea190,Cordie Cole,,,Developer,\r\n";
+    private static final String COLUMNAR_FILE =
+            "454d504300000001000000029250abc9d7ef414b8c85168a91e0f8c8b328f15918414411803278c8be1ea19000000064"
+            + "8000000018ff000000120000000b417269656c202241726922204c61726b696e436f7264696520436f6c650000001100"
+            + "000009446576656c6f7065722c2053656e696f72446576656c6f7065720000000dffffffff6140636f6d70616e792e63"
+            + "6f6d00000000";
+    private static final int ROW_GROUP = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final MockEmployee ariel = MockEmployee.builder()
+            .id(UUID.fromString("9250abc9-d7ef-414b-8c85-168a91e0f8c8"))
+            .name("Ariel \"Ari\" Larkin")
+            .salary(100)
+            .age(24)
+            .title("Developer, Senior")
+            .email("a@company.com")
+            .build();
+    private final MockEmployee cordie = MockEmployee.builder()
+            .id(UUID.fromString("b328f159-1841-4411-8032-78c8be1ea190"))
+            .name("Cordie Cole")
+            .title("Developer")
+            .build();
+
+    @Test
+    void testReadsTheApiCsvExport() throws IOException {
+        final var roster = RosterImporter.read(file(CSV_FILE.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of(ariel, cordie), roster);
+        assertNull(roster.get(1).getSalary());
+        assertNull(roster.get(1).getAge());
+        assertNull(roster.get(1).getEmail());
+    }
+
+    @Test
+    void testReadsTheApiColumnarExport() throws IOException {
+        final var roster = RosterImporter.read(file(HexFormat.of().parseHex(COLUMNAR_FILE)));
+
+        assertEquals(List.of(ariel, cordie), roster);
+        assertNull(roster.get(1).getSalary());
+        assertNull(roster.get(1).getAge());
+        assertNull(roster.get(1).getEmail());
+    }
+
+    @Test
+    void testCsvQuotedFieldsKeepLineBreaksQuotesAndCommas() throws IOException {
+        final var csv = "id,name,salary,age,title,email\n"
+                + "9250abc9-d7ef-414b-8c85-168a91e0f8c8,\"Ariel\r\n\"\"Ari\"\"\nLarkin\",100,24,\"Developer,\nSenior\","
+                + "a@company.com\n"
+                + "\n"
+                + "b328f159-1841-4411-8032-78c8be1ea190,\"Cordie Cole\",,,Developer,";
+
+        assertEquals(
+                List.of(
+                        ariel.toBuilder()
+                                .name("Ariel\r\n\"Ari\"\nLarkin")
+                                .title("Developer,\nSenior")
+                                .build(),
+                        cordie),
+                RosterImporter.read(file(csv.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    void testColumnarReadsEveryRowGroup() throws IOException {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 2 * ROW_GROUP + 3; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(new UUID(i, -i))
+                    .name(i % 5 == 0 ? null : "Employee \u00e9 " + i)
+                    .salary(i % 7 == 0 ? null : i * 10)
+                    .age(i % 3 == 0 ? null : 16 + i % 60)
+                    .title(i % 11 == 0 ? null : "")
+                    .email(i % 2 == 0 ? null : "employee" + i + "@company.com")
+                    .build());
+        }
+
+        assertEquals(employees, RosterImporter.read(file(columnar(employees))));
+    }
+
+    @Test
+    void testRejectsAWrongMagicOrVersion() throws IOException {
+        final var bytes = HexFormat.of().parseHex(COLUMNAR_FILE);
+        bytes[7] = 2;
+        assertThrows(IOException.class, () -> RosterImporter.read(file(bytes)));
+
+        // Without the magic the file is taken for CSV, which then has no header.
+        final var unmarked = HexFormat.of().parseHex(COLUMNAR_FILE);
+        unmarked[3] = 'X';
+        assertThrows(IOException.class, () -> RosterImporter.read(file(unmarked)));
+    }
+
+    @Test
+    void testRejectsAMissingOrExtraField() throws IOException {
+        final var header = "id,name,salary,age,title,email\r\n";
+        for (final var row : List.of(
+                "9250abc9-d7ef-414b-8c85-168a91e0f8c8,Ariel Larkin,100,24,Developer\r\n",
+                "9250abc9-d7ef-414b-8c85-168a91e0f8c8,Ariel Larkin,100,24,Developer,a@company.com,\r\n",
+                "9250abc9-d7ef-414b-8c85-168a91e0f8c8,Ariel Larkin,lots,24,Developer,a@company.com\r\n")) {
+            final var path = file((header + row).getBytes(StandardCharsets.UTF_8));
+            assertThrows(IOException.class, () -> RosterImporter.read(path), row);
+        }
+
+        final var bytes = HexFormat.of().parseHex(COLUMNAR_FILE);
+        // Cut off inside cordie's email column, and separately with bytes left after the end marker.
+        final var truncated = file(Arrays.copyOf(bytes, bytes.length - 8));
+        assertThrows(IOException.class, () -> RosterImporter.read(truncated));
+        final var trailing = file(Arrays.copyOf(bytes, bytes.length + 4));
+        assertThrows(IOException.class, () -> RosterImporter.read(trailing));
+    }
+
+    @Test
+    void testRejectsABadIdLikeABadFieldCount() {
+        for (final var id : List.of("", "not-a-uuid")) {
+            final var csv = "id,name,salary,age,title,email\r\n" + id + ",Ariel Larkin,100,24,Developer,\r\n";
+            final var e = assertThrows(
+                    IOException.class, () -> RosterImporter.read(file(csv.getBytes(StandardCharsets.UTF_8))));
+            assertTrue(e.getMessage().contains("'" + id + "'"), e.getMessage());
+        }
+    }
+
+    private Path file(byte[] bytes) throws IOException {
+        return Files.write(Files.createTempFile(directory, "roster", ".bin"), bytes);
+    }
+
+    // The api's ColumnarRosterWriter layout, for rosters too large to keep as a fixture.
+    private static byte[] columnar(List<MockEmployee> employees) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        final var out = new DataOutputStream(bytes);
+        out.writeBytes("EMPC");
+        out.writeInt(1);
+        for (int from = 0; from < employees.size(); from += ROW_GROUP) {
+            final var group = employees.subList(from, Math.min(from + ROW_GROUP, employees.size()));
+            out.writeInt(group.size());
+            for (final var employee : group) {
+                out.writeLong(employee.getId().getMostSignificantBits());
+                out.writeLong(employee.getId().getLeastSignificantBits());
+            }
+            for (final var employee : group) {
+                out.writeInt(employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+            }
+            for (final var employee : group) {
+                out.writeByte(employee.getAge() == null ? -1 : employee.getAge());
+            }
+            strings(out, group.stream().map(MockEmployee::getName).toList());
+            strings(out, group.stream().map(MockEmployee::getTitle).toList());
+            strings(out, group.stream().map(MockEmployee::getEmail).toList());
+        }
+        out.writeInt(0);
+        return bytes.toByteArray();
+    }
+
+    private static void strings(DataOutputStream out, List<String> values) throws IOException {
+        final var encoded = values.stream()
+                .map(value -> value == null ? null : value.getBytes(StandardCharsets.UTF_8))
+                .toList();
+        for (final var value : encoded) {
+            out.writeInt(value == null ? -1 : value.length);
+        }
+        for (final var value : encoded) {
+            if (value != null) {
+                out.write(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.web.ChaosFilter.Fault;
+import com.reliaquest.server.web.ChaosFilter.Injection;
+import com.reliaquest.server.web.ChaosFilter.LatencyDistribution;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ChaosFilterTest {
+
+    private static final int REQUESTS = 10_000;
+
+    @Test
+    void testSameSeedInjectsTheSameLatenciesAndFaults() {
+        final var first = injections(chaos(42L, LatencyDistribution.LOGNORMAL));
+
+        assertEquals(first, injections(chaos(42L, LatencyDistribution.LOGNORMAL)));
+        assertNotEquals(first, injections(chaos(43L, LatencyDistribution.LOGNORMAL)));
+        assertEquals(
+                injections(chaos(42L, LatencyDistribution.UNIFORM)),
+                injections(chaos(42L, LatencyDistribution.UNIFORM)));
+    }
+
+    @Test
+    void testInjectionDependsOnlyOnTheRequestNumber() {
+        final var filter = chaos(42L, LatencyDistribution.LOGNORMAL);
+        final var inOrder = injections(filter);
+
+        for (int request = REQUESTS - 1; request >= 0; request -= 7) {
+            assertEquals(inOrder.get(request), filter.injection(request));
+        }
+    }
+
+    @Test
+    void testInjectionsFollowTheConfiguredRatesAndBounds() {
+        final var counts = new EnumMap<Fault, Integer>(Fault.class);
+        var slowBodies = 0;
+        for (final var injection : injections(chaos(42L, LatencyDistribution.LOGNORMAL))) {
+            counts.merge(injection.fault(), 1, Integer::sum);
+            slowBodies += injection.slowBody() ? 1 : 0;
+            assertTrue(injection.latency().compareTo(Duration.ofMillis(5)) >= 0, injection.toString());
+            assertTrue(injection.latency().compareTo(Duration.ofMillis(500)) <= 0, injection.toString());
+        }
+
+        assertEquals(0.10, (double) counts.get(Fault.THROTTLE) / REQUESTS, 0.02);
+        assertEquals(0.05, (double) counts.get(Fault.ERROR) / REQUESTS, 0.02);
+        assertEquals(0.05, (double) counts.get(Fault.RESET) / REQUESTS, 0.02);
+        assertEquals(0.10 * 0.80, (double) slowBodies / REQUESTS, 0.02);
+    }
+
+    @Test
+    void testSameSeedAnswersARequestSequenceTheSameWay() throws Exception {
+        final var statuses = statuses(refusing(7L));
+
+        assertEquals(statuses, statuses(refusing(7L)));
+        final var expected = new ArrayList<Integer>();
+        final var decisions = refusing(7L);
+        for (int request = 0; request < statuses.size(); request++) {
+            expected.add(
+                    switch (decisions.injection(request).fault()) {
+                        case THROTTLE -> 429;
+                        case ERROR -> 503;
+                        default -> 200;
+                    });
+        }
+        assertEquals(expected, statuses);
+        assertTrue(statuses.contains(429) && statuses.contains(503) && statuses.contains(200));
+    }
+
+    private static ChaosFilter chaos(long seed, LatencyDistribution latency) {
+        return new ChaosFilter(
+                seed,
+                latency,
+                Duration.ofMillis(5),
+                Duration.ofMillis(40),
+                Duration.ofMillis(500),
+                0.5,
+                0.05,
+                0.10,
+                Duration.ofSeconds(2),
+                0.05,
+                503,
+                0.10,
+                256,
+                Duration.ofMillis(50));
+    }
+
+    /* Only refuses requests (no latency, resets or slow bodies), so it runs without a container. */
+    private static ChaosFilter refusing(long seed) {
+        return new ChaosFilter(
+                seed,
+                LatencyDistribution.NONE,
+                Duration.ZERO,
+                Duration.ZERO,
+                Duration.ZERO,
+                0.5,
+                0,
+                0.2,
+                Duration.ofSeconds(2),
+                0.2,
+                503,
+                0,
+                256,
+                Duration.ZERO);
+    }
+
+    private static List<Injection> injections(ChaosFilter filter) {
+        final var injections = new ArrayList<Injection>(REQUESTS);
+        for (int request = 0; request < REQUESTS; request++) {
+            injections.add(filter.injection(request));
+        }
+        return injections;
+    }
+
+    private static List<Integer> statuses(ChaosFilter filter) throws Exception {
+        final var statuses = new ArrayList<Integer>();
+        for (int request = 0; request < 200; request++) {
+            final var response = new MockHttpServletResponse();
+            filter.doFilterInternal(
+                    new MockHttpServletRequest("GET", "/api/v1/employee"), response, new MockFilterChain());
+            statuses.add(response.getStatus());
+        }
+        return statuses;
+    }
+}
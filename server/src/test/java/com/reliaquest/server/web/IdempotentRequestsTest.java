@@ -0,0 +1,183 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class IdempotentRequestsTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final MutableClock clock = new MutableClock();
+    private final IdempotentRequests requests = new IdempotentRequests(TTL, 3, clock);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void testReplaysTheFirstResponseForTheSameKeyAndRequest() {
+        final var first = requests.execute("key", "create ariel", counted(() -> "ariel #1"));
+
+        assertEquals("ariel #1", first);
+        assertSame(first, requests.execute("key", "create ariel", counted(() -> "ariel #2")));
+        assertEquals("bill #2", requests.execute("other", "create bill", counted(() -> "bill #2")));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testADuplicateWaitsForTheRequestStillRunning() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var first = running("key", () -> {
+            await(release);
+            return "ariel";
+        });
+
+        final var duplicate = new CompletableFuture<String>();
+        final var waiter =
+                new Thread(() -> duplicate.complete(requests.execute("key", "create", counted(() -> "again"))));
+        waiter.start();
+        awaitWaiting(waiter);
+        assertFalse(duplicate.isDone());
+
+        release.countDown();
+        assertEquals("ariel", first.get(5, TimeUnit.SECONDS));
+        assertEquals("ariel", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testAFailureFreesTheKeyForARetry() {
+        final var failure = new IllegalStateException("upstream down");
+        final Supplier<String> failing = () -> {
+            throw failure;
+        };
+
+        assertSame(failure, assertThrows(RuntimeException.class, () -> requests.execute("key", "create", failing)));
+        assertEquals("ariel", requests.execute("key", "create", counted(() -> "ariel")));
+        assertEquals("ariel", requests.execute("key", "create", counted(() -> "again")));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testADuplicateWaitingOnAFailureGetsTheOriginalException() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var failure = new IllegalStateException("upstream down");
+        final var first = running("key", () -> {
+            await(release);
+            throw failure;
+        });
+
+        final var thrown = new AtomicReference<Throwable>();
+        final var waiter = new Thread(() -> {
+            try {
+                requests.execute("key", "create", counted(() -> "again"));
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+        });
+        waiter.start();
+        awaitWaiting(waiter);
+        release.countDown();
+        waiter.join(5000);
+
+        // Not the CompletionException the waiter's join threw.
+        assertSame(failure, thrown.get());
+        assertSame(failure, assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS)).getCause());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testAKeyReusedForADifferentRequestIsUnprocessable() {
+        requests.execute("key", "create ariel", counted(() -> "ariel"));
+
+        final var e = assertThrows(
+                ResponseStatusException.class, () -> requests.execute("key", "create bill", counted(() -> "bill")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testKeysExpireAfterTheTtlAndTheOldestAreEvicted() {
+        requests.execute("key", "create ariel", counted(() -> "ariel"));
+        clock.advance(TTL.minusSeconds(1));
+        assertEquals("ariel", requests.execute("key", "create ariel", counted(() -> "again")));
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals("bill", requests.execute("key", "create bill", counted(() -> "bill")));
+
+        // Three keys fit; a fourth pushes out the oldest.
+        requests.execute("b", "b", counted(() -> "b"));
+        requests.execute("c", "c", counted(() -> "c"));
+        requests.execute("d", "d", counted(() -> "d"));
+        assertEquals("bill again", requests.execute("key", "create bill", counted(() -> "bill again")));
+        assertEquals(6, calls.get());
+    }
+
+    private <T> Supplier<T> counted(Supplier<T> action) {
+        return () -> {
+            calls.incrementAndGet();
+            return action.get();
+        };
+    }
+
+    private CompletableFuture<String> running(String key, Supplier<String> action) throws InterruptedException {
+        final var started = new CountDownLatch(1);
+        final var response = CompletableFuture.supplyAsync(() -> requests.execute(key, "create", counted(() -> {
+            started.countDown();
+            return action.get();
+        })));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The duplicate parks in CompletableFuture.join once it found the entry of the request still running.
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "still " + thread.getState());
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RandomRequestLimitInterceptorTest {
+
+    // Three requests per 30 seconds: one more every 10 seconds once the burst is spent.
+    private static final int LIMIT = 3;
+    private static final Duration WINDOW = Duration.ofSeconds(30);
+
+    private final AtomicLong nanoTime = new AtomicLong(123_456_789_000L);
+
+    @Test
+    void testAdmitsABurstThenRejectsWithTheTimeUntilTheNextAdmission() {
+        final var limiter = limiter("none");
+
+        for (int i = 0; i < LIMIT; i++) {
+            assertAdmitted(limiter, null);
+        }
+        assertRejected(limiter, null, "10");
+        advance(Duration.ofMillis(2500));
+        assertRejected(limiter, null, "8");
+    }
+
+    @Test
+    void testAdmitsOneMoreEveryEmissionInterval() {
+        final var limiter = limiter("none");
+        for (int i = 0; i < LIMIT; i++) {
+            assertAdmitted(limiter, null);
+        }
+
+        advance(Duration.ofSeconds(10).minusNanos(1));
+        assertRejected(limiter, null, "1");
+        advance(Duration.ofNanos(1));
+        assertAdmitted(limiter, null);
+        assertRejected(limiter, null, "10");
+        advance(Duration.ofSeconds(10));
+        assertAdmitted(limiter, null);
+    }
+
+    @Test
+    void testIdleTimeRefillsTheBurstButNoMore() {
+        final var limiter = limiter("none");
+        for (int i = 0; i < LIMIT; i++) {
+            assertAdmitted(limiter, null);
+        }
+
+        advance(WINDOW.multipliedBy(10));
+        for (int i = 0; i < LIMIT; i++) {
+            assertAdmitted(limiter, null);
+        }
+        assertRejected(limiter, null, "10");
+    }
+
+    @Test
+    void testClientsWithDifferentKeysHaveTheirOwnBuckets() {
+        final var limiter = limiter("header:X-Client");
+        for (int i = 0; i < LIMIT; i++) {
+            assertAdmitted(limiter, "a");
+        }
+
+        assertRejected(limiter, "a", "10");
+        assertAdmitted(limiter, "b");
+    }
+
+    @Test
+    void testSameSeedPicksTheSameLimit() {
+        assertEquals(burst(limiter(0, Duration.ZERO, 7L)), burst(limiter(0, Duration.ZERO, 7L)));
+    }
+
+    private RandomRequestLimitInterceptor limiter(String clientKey) {
+        return new RandomRequestLimitInterceptor(LIMIT, WINDOW, clientKey, null, nanoTime::get);
+    }
+
+    private RandomRequestLimitInterceptor limiter(int limit, Duration window, Long seed) {
+        return new RandomRequestLimitInterceptor(limit, window, "none", seed, nanoTime::get);
+    }
+
+    private void advance(Duration duration) {
+        nanoTime.addAndGet(duration.toNanos());
+    }
+
+    private static int burst(RandomRequestLimitInterceptor limiter) {
+        int admitted = 0;
+        while (limiter.preHandle(request(null), new MockHttpServletResponse(), new Object())) {
+            admitted++;
+        }
+        return admitted;
+    }
+
+    private static void assertAdmitted(RandomRequestLimitInterceptor limiter, String client) {
+        final var response = new MockHttpServletResponse();
+
+        assertTrue(limiter.preHandle(request(client), response, new Object()));
+        assertNull(response.getHeader("Retry-After"));
+    }
+
+    private static void assertRejected(RandomRequestLimitInterceptor limiter, String client, String retryAfter) {
+        final var response = new MockHttpServletResponse();
+
+        assertFalse(limiter.preHandle(request(client), response, new Object()));
+        assertEquals(429, response.getStatus());
+        assertEquals(retryAfter, response.getHeader("Retry-After"));
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        if (client != null) {
+            request.addHeader("X-Client", client);
+        }
+        return request;
+    }
+}